@@ -0,0 +1,96 @@
+package com.example.benchmarks;
+
+import com.example.inventory.InventoryServiceApplication;
+import com.example.joblearning.JobLearningApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the services without a web server and seeds their H2 databases.
+ * This class demonstrates:
+ * - Bootstrapping a Spring Boot application from a benchmark
+ * - Seeding large datasets with JDBC batch inserts
+ *
+ * Each service is started with its own benchmark-*.properties instead of application.properties,
+ * since both service jars ship an application.properties on the same classpath.
+ */
+final class BenchmarkDatasets {
+
+    static final String[] NAME_WORDS = {
+            "Wireless", "Gaming", "Mouse", "Keyboard", "Monitor", "Laptop", "Stand", "Charger",
+            "Headphones", "Speaker", "Camera", "Phone", "Case", "Cable", "Adapter", "Lamp"};
+
+    private static final int BATCH_SIZE = 5000;
+
+    private BenchmarkDatasets() {
+    }
+
+    static ConfigurableApplicationContext startProductService(String... args) {
+        return start(JobLearningApplication.class, "benchmark-product-service", args);
+    }
+
+    static ConfigurableApplicationContext startInventoryService(String... args) {
+        return start(InventoryServiceApplication.class, "benchmark-inventory-service", args);
+    }
+
+    /**
+     * Product names are built from NAME_WORDS, so every word matches a share of the catalog.
+     */
+    static String productName(int i) {
+        return NAME_WORDS[i % NAME_WORDS.length] + " "
+                + NAME_WORDS[(i / NAME_WORDS.length) % NAME_WORDS.length] + " " + i;
+    }
+
+    static String productCode(int i) {
+        return "PROD-" + i;
+    }
+
+    /**
+     * Products get the ids 1..rows, since product ids come from a sequence rather than an identity column.
+     */
+    static void seedProducts(JdbcTemplate jdbcTemplate, int rows) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{
+                    (long) i + 1,
+                    productName(i),
+                    "Description of product " + i,
+                    1.0 + (i % 1000),
+                    "Category-" + (i % 100),
+                    i % 500});
+            if (batch.size() == BATCH_SIZE || i == rows - 1) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO products (id, name, description, price, category, stock_quantity, version) VALUES (?, ?, ?, ?, ?, ?, 0)",
+                        batch);
+                batch.clear();
+            }
+        }
+    }
+
+    static void seedInventory(JdbcTemplate jdbcTemplate, int rows) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{productCode(i), i % 500, "Warehouse-" + (i % 1000), (long) i, 0L});
+            if (batch.size() == BATCH_SIZE || i == rows - 1) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO inventory_items (product_code, quantity, warehouse_location, product_id, version) VALUES (?, ?, ?, ?, ?)",
+                        batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(Class<?> application, String configName, String... args) {
+        String[] allArgs = new String[args.length + 1];
+        allArgs[0] = "--spring.config.name=" + configName;
+        System.arraycopy(args, 0, allArgs, 1, args.length);
+        return new SpringApplicationBuilder(application)
+                .web(WebApplicationType.NONE)
+                .run(allArgs);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Entry point for the benchmark suite.
+ * This class demonstrates:
+ * - Running JMH benchmarks programmatically
+ * - Writing machine-readable (JSON) results for comparison between releases
+ *
+ * Accepts the usual JMH command line arguments (e.g. a benchmark regexp, -f, -wi, -i).
+ * Results go to the file named by the jmh.result system property unless -rff is given.
+ */
+public class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        // Arguments passed through Maven (-Djmh.args="...") arrive as a single string
+        String[] jmhArgs = Arrays.stream(args)
+                .flatMap(arg -> Arrays.stream(arg.trim().split("\\s+")))
+                .filter(arg -> !arg.isEmpty())
+                .toArray(String[]::new);
+        CommandLineOptions commandLine = new CommandLineOptions(jmhArgs);
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .resultFormat(ResultFormatType.JSON);
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(BenchmarkRunner.class.getPackageName() + ".*");
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result(System.getProperty("jmh.result", DEFAULT_RESULT_FILE));
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.benchmarks;
+
+import com.example.inventory.model.InventoryItem;
+import com.example.inventory.repository.InventoryRepository;
+import com.example.joblearning.model.Product;
+import com.example.joblearning.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the product and inventory finder queries with and without database indexes.
+ * This class demonstrates:
+ * - Measuring query latency against large seeded H2 datasets
+ * - The effect of indexes and unique constraints on derived finder queries
+ *
+ * The schema is created with the indexes declared on the entities; with indexed=false they are
+ * dropped after seeding. Run only these with: mvn package exec:exec -Djmh.args="FinderIndexBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FinderIndexBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Products {
+
+        @Param({"1000000"})
+        private int products;
+
+        @Param({"true", "false"})
+        private boolean indexed;
+
+        private ConfigurableApplicationContext context;
+        private ProductRepository productRepository;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = BenchmarkDatasets.startProductService();
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            BenchmarkDatasets.seedProducts(jdbcTemplate, products);
+            if (!indexed) {
+                jdbcTemplate.execute("DROP INDEX idx_products_category");
+                jdbcTemplate.execute("DROP INDEX idx_products_price");
+                jdbcTemplate.execute("DROP INDEX idx_products_stock_quantity");
+            }
+            productRepository = context.getBean(ProductRepository.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Inventory {
+
+        @Param({"1000000"})
+        private int items;
+
+        @Param({"true", "false"})
+        private boolean indexed;
+
+        private ConfigurableApplicationContext context;
+        private InventoryRepository inventoryRepository;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = BenchmarkDatasets.startInventoryService();
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            BenchmarkDatasets.seedInventory(jdbcTemplate, items);
+            if (!indexed) {
+                jdbcTemplate.execute("ALTER TABLE inventory_items DROP CONSTRAINT uk_inventory_items_product_code");
+                jdbcTemplate.execute("DROP INDEX idx_inventory_items_product_id");
+                jdbcTemplate.execute("DROP INDEX idx_inventory_items_warehouse_location");
+                jdbcTemplate.execute("DROP INDEX idx_inventory_items_quantity");
+            }
+            inventoryRepository = context.getBean(InventoryRepository.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    // Each query selects 0.1% to 1% of the rows, or a single row
+
+    @Benchmark
+    public List<Product> productFindByCategory(Products state) {
+        return state.productRepository.findByCategory("Category-50");
+    }
+
+    @Benchmark
+    public List<Product> productFindByPriceLessThan(Products state) {
+        return state.productRepository.findByPriceLessThan(2.0);
+    }
+
+    @Benchmark
+    public List<Product> productFindByStockQuantityGreaterThan(Products state) {
+        return state.productRepository.findByStockQuantityGreaterThan(498);
+    }
+
+    @Benchmark
+    public Optional<InventoryItem> inventoryFindByProductCode(Inventory state) {
+        return state.inventoryRepository.findByProductCode(BenchmarkDatasets.productCode(state.items / 2));
+    }
+
+    @Benchmark
+    public List<InventoryItem> inventoryFindByProductId(Inventory state) {
+        return state.inventoryRepository.findByProductId((long) (state.items / 3));
+    }
+
+    @Benchmark
+    public List<InventoryItem> inventoryFindByWarehouseLocation(Inventory state) {
+        return state.inventoryRepository.findByWarehouseLocation("Warehouse-500");
+    }
+
+    @Benchmark
+    public List<InventoryItem> inventoryFindByQuantityLessThan(Inventory state) {
+        return state.inventoryRepository.findByQuantityLessThan(1);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.benchmarks;
+
+import com.example.inventory.cache.StockLevelTable;
+import com.example.inventory.service.InventoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of InventoryService.isInStock against a seeded H2 inventory.
+ * This class demonstrates:
+ * - Comparing the in-memory stock level table with the database lookup
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InventoryStockCheckBenchmark {
+
+    @Param({"100000"})
+    private int items;
+
+    @Param({"true", "false"})
+    private boolean stockTable;
+
+    private ConfigurableApplicationContext context;
+    private InventoryService inventoryService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatasets.startInventoryService("--inventory.stock-table.enabled=" + stockTable);
+        BenchmarkDatasets.seedInventory(context.getBean(JdbcTemplate.class), items);
+        // The table was loaded at startup, before the rows were seeded
+        context.getBean(StockLevelTable.class).load();
+        inventoryService = context.getBean(InventoryService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean isInStock() {
+        int i = ThreadLocalRandom.current().nextInt(items);
+        return inventoryService.isInStock(BenchmarkDatasets.productCode(i), 100);
+    }
+}
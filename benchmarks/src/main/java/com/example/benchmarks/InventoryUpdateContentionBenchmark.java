@@ -0,0 +1,67 @@
+package com.example.benchmarks;
+
+import com.example.inventory.model.InventoryItem;
+import com.example.inventory.service.InventoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of InventoryService.updateInventoryQuantity with several threads updating at once.
+ * This class demonstrates:
+ * - Measuring throughput under contention with JMH @Threads
+ *
+ * hotProducts controls how many product codes the threads share: with 1 every update hits
+ * the same row, with more the updates spread out and contend less.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class InventoryUpdateContentionBenchmark {
+
+    private static final int ITEMS = 10_000;
+
+    @Param({"1", "100"})
+    private int hotProducts;
+
+    private ConfigurableApplicationContext context;
+    private InventoryService inventoryService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatasets.startInventoryService("--inventory.stock-table.enabled=true");
+        BenchmarkDatasets.seedInventory(context.getBean(JdbcTemplate.class), ITEMS);
+        inventoryService = context.getBean(InventoryService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public InventoryItem updateInventoryQuantity() {
+        int i = ThreadLocalRandom.current().nextInt(hotProducts);
+        return inventoryService.updateInventoryQuantity(BenchmarkDatasets.productCode(i), 1);
+    }
+}
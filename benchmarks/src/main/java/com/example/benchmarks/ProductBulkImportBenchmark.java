@@ -0,0 +1,103 @@
+package com.example.benchmarks;
+
+import com.example.joblearning.dto.BulkImportResult;
+import com.example.joblearning.model.Product;
+import com.example.joblearning.service.ProductImportService;
+import com.example.joblearning.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of product import throughput: one createProduct call per product versus the bulk import.
+ * This class demonstrates:
+ * - Measuring the effect of chunked transactions and JDBC batch inserts
+ * - Single-shot JMH measurements of work that changes the dataset
+ *
+ * Every invocation imports the same new products into a seeded catalog; the products of the previous
+ * invocation are deleted beforehand, outside of the measured time.
+ * Run only these with: mvn package exec:exec -Djmh.args="ProductBulkImportBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ProductBulkImportBenchmark {
+
+    @Param({"100000"})
+    private int products;
+
+    @Param({"100000"})
+    private int seededProducts;
+
+    /**
+     * "createProduct" calls ProductService once per product, "bulk" imports them with ProductImportService.
+     */
+    @Param({"createProduct", "bulk"})
+    private String method;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private ProductService productService;
+    private ProductImportService productImportService;
+    private List<Product> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatasets.startProductService();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkDatasets.seedProducts(jdbcTemplate, seededProducts);
+        // The seeded ids bypass the sequence; move it past them (and past one allocation block)
+        jdbcTemplate.execute("ALTER SEQUENCE products_seq RESTART WITH " + (seededProducts + 100));
+        productService = context.getBean(ProductService.class);
+        productImportService = context.getBean(ProductImportService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareImport() {
+        jdbcTemplate.update("DELETE FROM products WHERE id > ?", seededProducts);
+        batch = new ArrayList<>(products);
+        for (int i = seededProducts; i < seededProducts + products; i++) {
+            batch.add(new Product(null, BenchmarkDatasets.productName(i), "Description of product " + i,
+                    1.0 + (i % 1000), "Category-" + (i % 100), i % 500));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int importProducts() {
+        if ("bulk".equals(method)) {
+            BulkImportResult result = productImportService.importProducts(batch.iterator());
+            if (result.getCreated() != products) {
+                throw new IllegalStateException("Created " + result.getCreated() + " of " + products + " products");
+            }
+            return result.getCreated();
+        }
+        for (Product product : batch) {
+            productService.createProduct(product);
+        }
+        return batch.size();
+    }
+}
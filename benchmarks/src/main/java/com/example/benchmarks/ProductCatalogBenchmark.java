@@ -0,0 +1,123 @@
+package com.example.benchmarks;
+
+import com.example.joblearning.catalog.ProductCatalog;
+import com.example.joblearning.model.Product;
+import com.example.joblearning.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory footprint and filter latency of the columnar product catalog compared with JPA entities.
+ * This class demonstrates:
+ * - Measuring retained heap of two representations of the same data
+ * - Comparing in-memory columnar scans with database finder queries
+ *
+ * The database lives in H2's off-heap nioMemFS file system with a small page cache, so the Strings
+ * of names and descriptions read from it are copies of their own and are counted in the footprint.
+ * The entity figure is the heap held by a persistence context with every product loaded (entities
+ * plus Hibernate's per-entity bookkeeping), the catalog figure the heap held by one snapshot. Both
+ * are measured once per trial and printed; the benchmarks time the filters.
+ * Run only these with: mvn package exec:exec -Djmh.args="ProductCatalogBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ProductCatalogBenchmark {
+
+    @Param({"1000000"})
+    private int products;
+
+    /**
+     * "database" runs the finder queries, "catalog" scans the columnar catalog.
+     */
+    @Param({"database", "catalog"})
+    private String source;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private ProductCatalog catalog;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatasets.startProductService(
+                "--spring.datasource.url=jdbc:h2:nioMemFS:benchmark-catalog;CACHE_SIZE=1024");
+        BenchmarkDatasets.seedProducts(context.getBean(JdbcTemplate.class), products);
+        productRepository = context.getBean(ProductRepository.class);
+
+        long baseline = usedHeap();
+        long retained;
+        if ("catalog".equals(source)) {
+            catalog = new ProductCatalog(productRepository, true, 200_000, Duration.ofSeconds(1));
+            catalog.load();
+            retained = usedHeap() - baseline;
+        } else {
+            try (EntityManager entityManager = context.getBean(EntityManagerFactory.class).createEntityManager()) {
+                List<Product> entities = entityManager.createQuery("from Product", Product.class).getResultList();
+                retained = usedHeap() - baseline;
+                if (entities.size() != products) {
+                    throw new IllegalStateException("Loaded " + entities.size() + " of " + products + " products");
+                }
+            }
+        }
+        System.out.printf("%n%s: %.1f MB retained heap, %.1f bytes per product%n",
+                source, retained / 1_048_576.0, (double) retained / products);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (catalog != null) {
+            catalog.shutdown();
+        }
+        context.close();
+    }
+
+    // Category-50 holds 1% of the products; prices start at 1.0, so 0.1% cost less than 2.0
+
+    @Benchmark
+    public List<Product> findByCategory() {
+        return catalog != null ? catalog.findByCategory("Category-50") : productRepository.findByCategory("Category-50");
+    }
+
+    @Benchmark
+    public List<Product> findByPriceLessThan() {
+        return catalog != null ? catalog.findByPriceLessThan(2.0) : productRepository.findByPriceLessThan(2.0);
+    }
+
+    /**
+     * Heap in use after a few full collections.
+     */
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
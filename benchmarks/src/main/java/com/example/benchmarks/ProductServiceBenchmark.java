@@ -0,0 +1,80 @@
+package com.example.benchmarks;
+
+import com.example.joblearning.model.Product;
+import com.example.joblearning.search.ProductNameIndex;
+import com.example.joblearning.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the ProductService read paths against a seeded H2 catalog.
+ * This class demonstrates:
+ * - Measuring service calls inside a running Spring context with JMH
+ * - Comparing the in-memory name index with the database fallback
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductServiceBenchmark {
+
+    private static final int SEARCH_LIMIT = 50;
+
+    @Param({"100000"})
+    private int products;
+
+    /**
+     * "index" serves searches from ProductNameIndex, "database" from the JPQL LIKE query.
+     */
+    @Param({"index", "database"})
+    private String searchMode;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatasets.startProductService();
+        BenchmarkDatasets.seedProducts(context.getBean(JdbcTemplate.class), products);
+        if ("index".equals(searchMode)) {
+            context.getBean(ProductNameIndex.class).load();
+        }
+        productService = context.getBean(ProductService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Product getProductById() {
+        return productService.getProductById(ThreadLocalRandom.current().nextLong(1, products + 1L));
+    }
+
+    @Benchmark
+    public List<Product> searchProductsByName() {
+        String[] words = BenchmarkDatasets.NAME_WORDS;
+        String word = words[ThreadLocalRandom.current().nextInt(words.length)];
+        return productService.searchProductsByName(word.toLowerCase(), SEARCH_LIMIT);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.benchmarks;
+
+import com.example.inventory.model.InventoryItem;
+import com.example.joblearning.model.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of Jackson serialization of the list responses of both services.
+ * This class demonstrates:
+ * - Measuring JSON serialization cost in isolation from the web layer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"50", "500"})
+    private int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Product> products;
+    private List<InventoryItem> inventoryItems;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        products = new ArrayList<>(size);
+        inventoryItems = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(new Product((long) i, BenchmarkDatasets.productName(i), "Description of product " + i,
+                    1.0 + (i % 1000), "Category-" + (i % 100), i % 500));
+            inventoryItems.add(new InventoryItem((long) i, BenchmarkDatasets.productCode(i), i % 500,
+                    "Warehouse-" + (i % 10), (long) i, 0L));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeProducts() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] serializeInventoryItems() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(inventoryItems);
+    }
+}
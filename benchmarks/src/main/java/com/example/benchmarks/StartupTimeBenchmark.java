@@ -0,0 +1,134 @@
+package com.example.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the time from JVM launch to the first successful request, with and without fast start.
+ * This class demonstrates:
+ * - Measuring startup as clients see it: until the first request is answered, not until the log line
+ * - Comparing Spring AOT plus an AppCDS archive plus migration scripts with the default startup
+ * - Single-shot JMH measurements of work that cannot be repeated in a loop
+ *
+ * Both variants start the jar of the fast-start build; the default variant simply runs it without
+ * the archive, without AOT and with ddl-auto=update. Build both services first with
+ * mvn -Pfast-start package -DskipTests (in / and in inventory-service/), then run from this module:
+ * mvn package exec:exec -Djmh.args="StartupTimeBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupTimeBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({"job-learning", "inventory-service"})
+    private String service;
+
+    @Param({"default", "fast-start"})
+    private String variant;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    private Path jar;
+    private List<String> jvmOptions;
+    private String firstRequest;
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Run from the benchmarks directory, next to both services
+        Path target = Path.of("job-learning".equals(service) ? ".." : "../inventory-service", "target");
+        jar = target.resolve(service + "-0.0.1-SNAPSHOT.jar");
+        Path archive = target.resolve(service + ".jsa");
+        if (!Files.exists(jar) || !Files.exists(archive)) {
+            throw new IllegalStateException("Build " + service + " with mvn -Pfast-start package first");
+        }
+        jvmOptions = "fast-start".equals(variant)
+                ? List.of("-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true", "-Dspring.profiles.active=fast-start")
+                : List.of();
+        firstRequest = "job-learning".equals(service) ? "/api/products?limit=1" : "/api/inventory?limit=1";
+    }
+
+    /**
+     * Start the application and poll it until it answers with 200 OK; the application is left running.
+     */
+    @Benchmark
+    public void timeToFirstRequest() throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-jar", jar.toString(), "--server.port=" + port, "--logging.level.root=WARN"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + firstRequest))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long start = System.nanoTime();
+        process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue());
+            }
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("Application did not answer within " + STARTUP_TIMEOUT);
+    }
+
+    /**
+     * Stop the application outside of the measured time.
+     */
+    @TearDown(Level.Invocation)
+    public void stopApplication() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            process.waitFor();
+            process = null;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
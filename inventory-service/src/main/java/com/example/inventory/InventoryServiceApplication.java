@@ -3,18 +3,31 @@ package com.example.inventory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableAsync;
 
 /**
  * Main Spring Boot application class for the Inventory Microservice.
  * This class demonstrates:
  * - Spring Boot application setup for microservices
  * - Feign client integration for service-to-service communication
+ * - Asynchronous event processing
  */
 @SpringBootApplication
 @EnableFeignClients
+@EnableAsync
 public class InventoryServiceApplication {
 
+    /**
+     * System property that makes the application exit as soon as it has started; set by the training
+     * run of the fast-start build, whose class-data sharing archive is written when the JVM exits.
+     */
+    static final String EXIT_AFTER_STARTUP = "fast-start.exit-after-startup";
+
     public static void main(String[] args) {
-        SpringApplication.run(InventoryServiceApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(InventoryServiceApplication.class, args);
+        if (Boolean.getBoolean(EXIT_AFTER_STARTUP)) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
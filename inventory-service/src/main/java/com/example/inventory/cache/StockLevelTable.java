@@ -0,0 +1,172 @@
+package com.example.inventory.cache;
+
+import com.example.inventory.event.InventoryChangedEvent;
+import com.example.inventory.model.InventoryItem;
+import com.example.inventory.repository.InventoryRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Optional in-memory table of stock levels keyed by product code.
+ * This class demonstrates:
+ * - Lock-free reads from a ConcurrentHashMap of immutable entries
+ * - Keeping a read model in sync through transaction-bound events
+ * - Version checks, so events applied out of order cannot leave stale levels behind
+ *
+ * Every product code maps to the latest known level of each inventory item that has held it, with
+ * the item's version. Events are applied after commit in whatever order the committing threads get
+ * there, and versions only order the changes of one item, so an event only replaces the level of its
+ * own item, and only with a newer version. When an item leaves a product code (deleted or moved to
+ * another code) a marker with its version stays behind, so a late event for an older version cannot
+ * bring it back, while other items can still take the code. Since product codes are unique, at most
+ * one item holds a code once every event has arrived. Updates to different product codes never
+ * contend, and reads never lock.
+ * The table is loaded before the web server starts accepting requests and is then kept
+ * in sync with every committed change published by InventoryService.
+ */
+@Component
+public class StockLevelTable {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final InventoryRepository inventoryRepository;
+    private final boolean enabled;
+    private final ConcurrentMap<String, ItemLevels> stockLevels = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    @Autowired
+    public StockLevelTable(InventoryRepository inventoryRepository,
+                           @Value("${inventory.stock-table.enabled:false}") boolean enabled) {
+        this.inventoryRepository = inventoryRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Load all stock levels from the database, one keyset page at a time.
+     */
+    @PostConstruct
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long lastId = 0L;
+        List<InventoryItem> page;
+        do {
+            page = inventoryRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (InventoryItem item : page) {
+                apply(item.getProductCode(), StockLevel.of(item.getId(), item.getVersion(), item.getQuantity()));
+                lastId = item.getId();
+            }
+        } while (page.size() == LOAD_BATCH_SIZE);
+        loaded = true;
+    }
+
+    /**
+     * Whether stock checks can be answered from memory.
+     */
+    public boolean isReady() {
+        return loaded;
+    }
+
+    /**
+     * Check if the product has at least the required quantity in stock.
+     */
+    public boolean isInStock(String productCode, int requiredQuantity) {
+        ItemLevels itemLevels = stockLevels.get(productCode);
+        return itemLevels != null && itemLevels.isInStock(requiredQuantity);
+    }
+
+    /**
+     * Apply a committed inventory change, unless a newer one has already been applied.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        StockLevel stockLevel = switch (event.type()) {
+            case SET, ADJUSTED -> StockLevel.of(event.itemId(), event.version(), event.quantity());
+            case REMOVED -> StockLevel.removed(event.itemId(), event.version());
+        };
+        apply(event.productCode(), stockLevel);
+    }
+
+    private void apply(String productCode, StockLevel stockLevel) {
+        stockLevels.merge(productCode, ItemLevels.of(stockLevel), (current, update) -> current.with(stockLevel));
+    }
+
+    /**
+     * Latest known level of every item that has held one product code, by item id; immutable.
+     */
+    private record ItemLevels(Map<Long, StockLevel> byItemId) {
+
+        static ItemLevels of(StockLevel stockLevel) {
+            return new ItemLevels(Map.of(stockLevel.itemId(), stockLevel));
+        }
+
+        ItemLevels with(StockLevel update) {
+            StockLevel current = byItemId.get(update.itemId());
+            if (current != null && !update.replaces(current)) {
+                return this;
+            }
+            Map<Long, StockLevel> levels = new HashMap<>(byItemId);
+            levels.put(update.itemId(), update);
+            return new ItemLevels(Map.copyOf(levels));
+        }
+
+        /**
+         * Whether an item holding the code has the required quantity. Until the event of an item
+         * leaving the code arrives, two items may appear to hold it.
+         */
+        boolean isInStock(int requiredQuantity) {
+            for (StockLevel level : byItemId.values()) {
+                if (!level.isRemoved() && level.quantity() >= requiredQuantity) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Stock level of one inventory item at one version, or the marker that the item no longer
+     * holds the stock of the product code.
+     */
+    private record StockLevel(long itemId, long version, int quantity, boolean isRemoved) {
+
+        private static final long NO_VERSION = -1L;
+
+        static StockLevel of(Long itemId, Long version, int quantity) {
+            return new StockLevel(orZero(itemId), version != null ? version : NO_VERSION, quantity, false);
+        }
+
+        static StockLevel removed(Long itemId, Long version) {
+            return new StockLevel(orZero(itemId), version != null ? version : NO_VERSION, 0, true);
+        }
+
+        /**
+         * Whether this level may replace the current one of the same item: it is a newer version, or it
+         * removes the same version (nothing replaces a removal at its version).
+         */
+        boolean replaces(StockLevel current) {
+            if (version != current.version) {
+                return version > current.version;
+            }
+            return isRemoved || !current.isRemoved;
+        }
+
+        private static long orZero(Long id) {
+            return id != null ? id : 0L;
+        }
+    }
+}
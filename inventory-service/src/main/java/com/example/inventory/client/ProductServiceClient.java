@@ -0,0 +1,24 @@
+package com.example.inventory.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
+
+/**
+ * Feign client for communicating with the Product microservice.
+ * This interface demonstrates:
+ * - Declarative REST client with Feign
+ * - Pushing change notifications to another microservice
+ */
+@FeignClient(name = "product-service", url = "${product-service.url:http://localhost:8080}")
+public interface ProductServiceClient {
+
+    /**
+     * Evict cached stock answers held by the product service.
+     * @param productCodes The product codes whose stock changed
+     */
+    @PostMapping("/api/stock-cache/invalidate")
+    void invalidateStockCache(@RequestBody List<String> productCodes);
+}
@@ -0,0 +1,27 @@
+package com.example.inventory.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Micrometer setup shared by all timed components.
+ * This class demonstrates:
+ * - Enabling the @Timed annotation with Micrometer's TimedAspect
+ *
+ * Service classes annotated with @Timed get one timer per public method, tagged with the
+ * class, method and exception. Repository, HTTP server, Feign client, Hibernate and HikariCP
+ * metrics are registered by Spring Boot itself (see management.* in application.properties).
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    /**
+     * Record a timer for every call to a method or class annotated with @Timed.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.inventory.config;
+
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the service on virtual threads when the "virtual-threads" profile is active.
+ * This class demonstrates:
+ * - Java 21 virtual threads with Spring Boot
+ * - Replacing the Tomcat worker pool and the application task executor
+ *
+ * Covers request handling and @Async work (stock cache invalidation pushes to product-service).
+ * Blocking on the network or JDBC then parks a cheap virtual thread instead of holding a pooled
+ * platform thread.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("virtual-threads")
+public class VirtualThreadsConfig {
+
+    /**
+     * Handle every request on its own virtual thread instead of the Tomcat thread pool.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Executor for @Async methods and Spring MVC async request processing.
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
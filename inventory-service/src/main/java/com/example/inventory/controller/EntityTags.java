@@ -0,0 +1,71 @@
+package com.example.inventory.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Builds the validator headers (ETag, Last-Modified) for conditional GET requests.
+ * This class demonstrates:
+ * - Strong entity tags derived from entity versions instead of from the response body
+ *
+ * Spring MVC answers a GET with 304 Not Modified, without writing the body, when the request's
+ * If-None-Match or If-Modified-Since matches the headers of the returned ResponseEntity.
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * ETag and Last-Modified of a single entity. The tag changes with every version of the entity.
+     * Headers are left out for values that are not known (rows written without a version or time).
+     */
+    static HttpHeaders forEntity(Long id, Long version, Instant lastModified) {
+        HttpHeaders headers = new HttpHeaders();
+        if (version != null) {
+            headers.setETag("\"" + id + "-" + version + "\"");
+        }
+        if (lastModified != null) {
+            headers.setLastModified(lastModified);
+        }
+        return headers;
+    }
+
+    /**
+     * Add the ETag of a list: a digest over the id and version of every element, in order,
+     * so it changes whenever an element is added, removed, reordered or changed.
+     * No Last-Modified header is added, since removing an element does not make any remaining
+     * element newer and If-Modified-Since could not detect it.
+     */
+    static <T> HttpHeaders addForList(HttpHeaders headers, List<T> entities,
+                                      Function<T, Long> id, Function<T, Long> version) {
+        return addForList(headers, "", entities, id, version);
+    }
+
+    /**
+     * Add the ETag of one representation of a list, e.g. a sparse fieldset: like
+     * {@link #addForList(HttpHeaders, List, Function, Function)}, with the variant (such as the
+     * selected fields) included in the digest, so each representation has its own tag.
+     */
+    static <T> HttpHeaders addForList(HttpHeaders headers, String variant, List<T> entities,
+                                      Function<T, Long> id, Function<T, Long> version) {
+        byte[] variantBytes = variant.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + variantBytes.length + 2 * Long.BYTES * entities.size());
+        buffer.putInt(variantBytes.length).put(variantBytes);
+        for (T entity : entities) {
+            Long entityVersion = version.apply(entity);
+            if (entityVersion == null) {
+                return headers;
+            }
+            buffer.putLong(id.apply(entity)).putLong(entityVersion);
+        }
+        headers.setETag("\"" + DigestUtils.md5DigestAsHex(buffer.array()) + "\"");
+        return headers;
+    }
+}
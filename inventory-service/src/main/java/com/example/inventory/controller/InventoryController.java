@@ -1,15 +1,25 @@
 package com.example.inventory.controller;
 
+import com.example.inventory.dto.BatchAdjustmentMode;
+import com.example.inventory.dto.BatchAdjustmentResult;
+import com.example.inventory.dto.PartialInventoryItem;
+import com.example.inventory.dto.QuantityAdjustment;
+import com.example.inventory.dto.StockCheckRequest;
+import com.example.inventory.event.LowStockFeed;
 import com.example.inventory.model.InventoryItem;
 import com.example.inventory.service.InventoryService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * REST controller for Inventory service.
@@ -18,26 +28,71 @@ import java.util.Map;
  * - HTTP method mappings
  * - Request parameter handling
  * - Response entity construction
+ * - Keyset (cursor) pagination
+ * - Conditional GET with ETag and Last-Modified validators
+ * - Sparse fieldsets (fields=id,productCode,quantity) backed by projections
+ * - Server-Sent Events for low-stock threshold crossings
+ *
+ * The list endpoints accept fields=... to return only the listed fields (id is always included);
+ * only the columns of those fields are read from the database. Unknown fields are rejected
+ * with 400 Bad Request.
+ * Items and item lists carry an ETag (and single items a Last-Modified header), so a client
+ * revalidating with If-None-Match gets 304 Not Modified with no body while nothing has changed.
  */
 @RestController
 @RequestMapping("/api/inventory")
 public class InventoryController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int MAX_PAGE_SIZE = 500;
+
     private final InventoryService inventoryService;
+    private final LowStockFeed lowStockFeed;
 
     @Autowired
-    public InventoryController(InventoryService inventoryService) {
+    public InventoryController(InventoryService inventoryService, LowStockFeed lowStockFeed) {
         this.inventoryService = inventoryService;
+        this.lowStockFeed = lowStockFeed;
     }
 
     /**
-     * Get all inventory items.
-     * GET /api/inventory
+     * Get inventory items one page at a time, ordered by id.
+     * GET /api/inventory?after={id}&limit={limit}
+     * When a full page is returned, the X-Next-Cursor header holds the value for the next "after".
+     * All items in one response are only returned on explicit opt-in:
+     * GET /api/inventory?unpaged=true
      */
     @GetMapping
-    public ResponseEntity<List<InventoryItem>> getAllInventoryItems() {
-        List<InventoryItem> items = inventoryService.getAllInventoryItems();
-        return new ResponseEntity<>(items, HttpStatus.OK);
+    public ResponseEntity<List<?>> getAllInventoryItems(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", defaultValue = "50") int limit,
+            @RequestParam(value = "unpaged", defaultValue = "false") boolean unpaged,
+            @RequestParam(value = "fields", required = false) List<String> fields) {
+
+        if (unpaged) {
+            if (fields != null) {
+                List<PartialInventoryItem> items = inventoryService.getAllInventoryItemFields(fields);
+                return partialItemList(items, fields, new HttpHeaders());
+            }
+            List<InventoryItem> items = inventoryService.getAllInventoryItems();
+            return itemList(items, new HttpHeaders());
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        if (fields != null) {
+            List<PartialInventoryItem> items = inventoryService.getInventoryItemFieldsAfter(after, pageSize, fields);
+            return partialItemList(items, fields, pageHeaders(items, pageSize, PartialInventoryItem::getId));
+        }
+        List<InventoryItem> items = inventoryService.getInventoryItemsAfter(after, pageSize);
+        return itemList(items, pageHeaders(items, pageSize, InventoryItem::getId));
+    }
+
+    private static <T> HttpHeaders pageHeaders(List<T> page, int pageSize, Function<T, Long> id) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.size() == pageSize) {
+            headers.set(NEXT_CURSOR_HEADER, String.valueOf(id.apply(page.get(pageSize - 1))));
+        }
+        return headers;
     }
 
     /**
@@ -47,7 +102,7 @@ public class InventoryController {
     @GetMapping("/{id}")
     public ResponseEntity<InventoryItem> getInventoryItemById(@PathVariable Long id) {
         InventoryItem item = inventoryService.getInventoryItemById(id);
-        return new ResponseEntity<>(item, HttpStatus.OK);
+        return item(item);
     }
 
     /**
@@ -57,7 +112,7 @@ public class InventoryController {
     @GetMapping("/product-code/{productCode}")
     public ResponseEntity<InventoryItem> getInventoryItemByProductCode(@PathVariable String productCode) {
         InventoryItem item = inventoryService.getInventoryItemByProductCode(productCode);
-        return new ResponseEntity<>(item, HttpStatus.OK);
+        return item(item);
     }
 
     /**
@@ -65,9 +120,15 @@ public class InventoryController {
      * GET /api/inventory/product/{productId}
      */
     @GetMapping("/product/{productId}")
-    public ResponseEntity<List<InventoryItem>> getInventoryItemsByProductId(@PathVariable Long productId) {
+    public ResponseEntity<List<?>> getInventoryItemsByProductId(
+            @PathVariable Long productId,
+            @RequestParam(value = "fields", required = false) List<String> fields) {
+        if (fields != null) {
+            List<PartialInventoryItem> items = inventoryService.getInventoryItemFieldsByProductId(productId, fields);
+            return partialItemList(items, fields, new HttpHeaders());
+        }
         List<InventoryItem> items = inventoryService.getInventoryItemsByProductId(productId);
-        return new ResponseEntity<>(items, HttpStatus.OK);
+        return itemList(items, new HttpHeaders());
     }
 
     /**
@@ -103,21 +164,45 @@ public class InventoryController {
     /**
      * Update inventory quantity.
      * PATCH /api/inventory/quantity/{productCode}
+     * Responds with 409 Conflict when there is not enough stock for a negative change.
+     * With the "Prefer: return=minimal" header the updated item is not read back and
+     * 204 No Content is returned.
      */
     @PatchMapping("/quantity/{productCode}")
     public ResponseEntity<InventoryItem> updateInventoryQuantity(
             @PathVariable String productCode,
-            @RequestBody Map<String, Integer> request) {
+            @RequestBody Map<String, Integer> request,
+            @RequestHeader(value = "Prefer", required = false) String prefer) {
         
         Integer quantityChange = request.get("quantityChange");
         if (quantityChange == null) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
+
+        if ("return=minimal".equalsIgnoreCase(prefer)) {
+            inventoryService.adjustInventoryQuantity(productCode, quantityChange);
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
         
         InventoryItem updatedItem = inventoryService.updateInventoryQuantity(productCode, quantityChange);
         return new ResponseEntity<>(updatedItem, HttpStatus.OK);
     }
 
+    /**
+     * Apply many quantity changes at once, e.g. a whole receiving session, in one transaction.
+     * PATCH /api/inventory/quantity?mode={ALL_OR_NOTHING|BEST_EFFORT}
+     * Body: [{"productCode": "...", "quantityChange": 5}, ...]
+     * The response reports the outcome of every line. In ALL_OR_NOTHING mode (the default)
+     * nothing is changed and 409 Conflict is returned when any line cannot be applied.
+     */
+    @PatchMapping("/quantity")
+    public ResponseEntity<BatchAdjustmentResult> adjustInventoryQuantities(
+            @RequestBody List<QuantityAdjustment> adjustments,
+            @RequestParam(value = "mode", defaultValue = "ALL_OR_NOTHING") BatchAdjustmentMode mode) {
+        BatchAdjustmentResult result = inventoryService.adjustInventoryQuantities(adjustments, mode);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     /**
      * Check if product is in stock.
      * GET /api/inventory/check-stock/{productCode}?quantity={quantity}
@@ -131,13 +216,77 @@ public class InventoryController {
         return new ResponseEntity<>(Map.of("inStock", inStock), HttpStatus.OK);
     }
 
+    /**
+     * Check stock for several products in one round trip.
+     * POST /api/inventory/check-stock
+     * Body: [{"productCode": "...", "quantity": 2}, ...]
+     * Response: {"PROD-001": true, "PROD-002": false, ...}
+     */
+    @PostMapping("/check-stock")
+    public ResponseEntity<Map<String, Boolean>> checkStockBulk(@RequestBody List<StockCheckRequest> requests) {
+        Map<String, Boolean> stock = inventoryService.checkStock(requests);
+        return new ResponseEntity<>(stock, HttpStatus.OK);
+    }
+
+    /**
+     * Get the available quantity of several products, identified by product id, in one round trip.
+     * POST /api/inventory/availability
+     * Body: [1, 2, ...]
+     * Response: {"1": 15, "2": 0, ...}
+     */
+    @PostMapping("/availability")
+    public ResponseEntity<Map<Long, Integer>> getAvailableQuantities(@RequestBody List<Long> productIds) {
+        Map<Long, Integer> quantities = inventoryService.getAvailableQuantities(productIds);
+        return new ResponseEntity<>(quantities, HttpStatus.OK);
+    }
+
     /**
      * Get low stock items.
      * GET /api/inventory/low-stock?threshold={threshold}
      */
     @GetMapping("/low-stock")
-    public ResponseEntity<List<InventoryItem>> getLowStockItems(@RequestParam(defaultValue = "5") Integer threshold) {
+    public ResponseEntity<List<?>> getLowStockItems(
+            @RequestParam(defaultValue = "5") Integer threshold,
+            @RequestParam(value = "fields", required = false) List<String> fields) {
+        if (fields != null) {
+            List<PartialInventoryItem> lowStockItems = inventoryService.getLowStockItemFields(threshold, fields);
+            return partialItemList(lowStockItems, fields, new HttpHeaders());
+        }
         List<InventoryItem> lowStockItems = inventoryService.getLowStockItems(threshold);
-        return new ResponseEntity<>(lowStockItems, HttpStatus.OK);
+        return itemList(lowStockItems, new HttpHeaders());
+    }
+
+    /**
+     * Stream the stock level changes that cross the low-stock threshold, as Server-Sent Events.
+     * GET /api/inventory/low-stock/stream?threshold={threshold}
+     * A "low-stock" event is sent when an item drops below the threshold (BELOW_THRESHOLD) or rises
+     * back to it (RESTOCKED); nothing is sent for changes that stay on one side. A "resync" event
+     * means the client fell behind and missed crossings, and should reload GET /api/inventory/low-stock.
+     * Responds with 503 Service Unavailable when the maximum number of subscribers is reached.
+     */
+    @GetMapping(value = "/low-stock/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLowStockCrossings(@RequestParam(defaultValue = "5") Integer threshold) {
+        return lowStockFeed.subscribe(threshold);
+    }
+
+    private static ResponseEntity<InventoryItem> item(InventoryItem item) {
+        HttpHeaders headers = EntityTags.forEntity(item.getId(), item.getVersion(), item.getLastModified());
+        return new ResponseEntity<>(item, headers, HttpStatus.OK);
+    }
+
+    private static ResponseEntity<List<?>> itemList(List<InventoryItem> items, HttpHeaders headers) {
+        EntityTags.addForList(headers, items, InventoryItem::getId, InventoryItem::getVersion);
+        return new ResponseEntity<>(items, headers, HttpStatus.OK);
+    }
+
+    /**
+     * Respond with the partial items; the ETag also covers the selected fields, since every
+     * fieldset is a different representation of the same items.
+     */
+    private static ResponseEntity<List<?>> partialItemList(List<PartialInventoryItem> items, List<String> fields,
+                                                           HttpHeaders headers) {
+        EntityTags.addForList(headers, String.join(",", fields), items,
+                PartialInventoryItem::getId, PartialInventoryItem::getVersion);
+        return new ResponseEntity<>(items, headers, HttpStatus.OK);
     }
 }
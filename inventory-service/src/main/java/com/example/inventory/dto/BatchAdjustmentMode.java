@@ -0,0 +1,7 @@
+package com.example.inventory.dto;
+
+/**
+ * How a batch quantity adjustment treats lines that cannot be applied.
+ * ALL_OR_NOTHING rejects the whole batch, BEST_EFFORT applies every line that can be applied.
+ */
+public enum BatchAdjustmentMode { ALL_OR_NOTHING, BEST_EFFORT }
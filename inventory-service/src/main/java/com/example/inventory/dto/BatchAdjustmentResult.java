@@ -0,0 +1,27 @@
+package com.example.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a batch quantity adjustment: whether it was committed and the outcome of every line.
+ * This class demonstrates:
+ * - Data transfer objects for response payloads
+ * - Lombok annotations to reduce boilerplate code
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAdjustmentResult {
+
+    private BatchAdjustmentMode mode;
+
+    private boolean committed;
+
+    private int applied;
+
+    private List<QuantityAdjustmentOutcome> lines;
+}
@@ -0,0 +1,34 @@
+package com.example.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A stock level crossing a low-stock threshold, as pushed to the subscribers of that threshold.
+ * This class demonstrates:
+ * - Data transfer objects for response payloads
+ * - Lombok annotations to reduce boilerplate code
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockCrossing {
+
+    public enum Direction {
+        /** The quantity dropped from at or above the threshold to below it. */
+        BELOW_THRESHOLD,
+        /** The quantity rose from below the threshold to at or above it. */
+        RESTOCKED
+    }
+
+    private String productCode;
+
+    private Direction direction;
+
+    private int threshold;
+
+    private int previousQuantity;
+
+    private int quantity;
+}
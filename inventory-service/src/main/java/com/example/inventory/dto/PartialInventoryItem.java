@@ -0,0 +1,31 @@
+package com.example.inventory.dto;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * An inventory item with only the fields a client selected (a sparse fieldset).
+ * This class demonstrates:
+ * - Data transfer objects for response payloads
+ * - Lombok annotations to reduce boilerplate code
+ * - Writing a single property as the whole JSON value with @JsonValue
+ *
+ * Only the selected fields are written, e.g. {"id": 1, "productCode": "...", "quantity": 5}.
+ * The id and version are kept for the paging cursor and the list ETag even when not selected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartialInventoryItem {
+
+    private Long id;
+
+    private Long version;
+
+    @JsonValue
+    private Map<String, Object> fields;
+}
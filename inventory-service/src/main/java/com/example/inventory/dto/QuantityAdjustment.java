@@ -0,0 +1,21 @@
+package com.example.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a batch quantity adjustment: a product code and the change to apply to its stock.
+ * This class demonstrates:
+ * - Data transfer objects for request payloads
+ * - Lombok annotations to reduce boilerplate code
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuantityAdjustment {
+
+    private String productCode;
+
+    private Integer quantityChange;
+}
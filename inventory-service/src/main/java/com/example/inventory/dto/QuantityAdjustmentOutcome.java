@@ -0,0 +1,29 @@
+package com.example.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one line of a batch quantity adjustment.
+ * This class demonstrates:
+ * - Data transfer objects for response payloads
+ * - Lombok annotations to reduce boilerplate code
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuantityAdjustmentOutcome {
+
+    /**
+     * NOT_APPLIED marks a line that could have been applied, but was not because the
+     * batch was rejected as a whole.
+     */
+    public enum Status { APPLIED, NOT_FOUND, INSUFFICIENT_STOCK, INVALID, NOT_APPLIED }
+
+    private String productCode;
+
+    private Integer quantityChange;
+
+    private Status status;
+}
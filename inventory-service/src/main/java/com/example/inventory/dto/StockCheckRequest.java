@@ -0,0 +1,21 @@
+package com.example.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a bulk stock check: a product code and the quantity that is required.
+ * This class demonstrates:
+ * - Data transfer objects for request payloads
+ * - Lombok annotations to reduce boilerplate code
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockCheckRequest {
+
+    private String productCode;
+
+    private Integer quantity;
+}
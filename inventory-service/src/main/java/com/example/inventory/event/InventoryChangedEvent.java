@@ -0,0 +1,33 @@
+package com.example.inventory.event;
+
+import com.example.inventory.model.InventoryItem;
+
+/**
+ * Application event published whenever the stock of a product code changes.
+ * This class demonstrates:
+ * - Spring application events for decoupling side effects from business logic
+ * - Versioned events, so listeners can ignore changes that reach them out of order
+ *
+ * For {@link Type#SET} and {@link Type#ADJUSTED} the quantity is the stock level after the change,
+ * read in the same transaction, and for {@link Type#REMOVED} it is unused. Every event carries the
+ * id and version of the inventory item it describes (for a removal, the last version the item had
+ * under the product code): events are handled after commit in whatever
+ * order the committing threads get there, and a listener keeping stock levels must be able to
+ * tell which of two events is the newer one.
+ */
+public record InventoryChangedEvent(String productCode, Type type, Long itemId, Long version, int quantity) {
+
+    public enum Type { SET, ADJUSTED, REMOVED }
+
+    public static InventoryChangedEvent set(InventoryItem item) {
+        return new InventoryChangedEvent(item.getProductCode(), Type.SET, item.getId(), item.getVersion(), item.getQuantity());
+    }
+
+    public static InventoryChangedEvent adjusted(String productCode, Long itemId, Long version, int quantity) {
+        return new InventoryChangedEvent(productCode, Type.ADJUSTED, itemId, version, quantity);
+    }
+
+    public static InventoryChangedEvent removed(String productCode, Long itemId, Long version) {
+        return new InventoryChangedEvent(productCode, Type.REMOVED, itemId, version, 0);
+    }
+}
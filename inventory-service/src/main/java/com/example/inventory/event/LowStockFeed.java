@@ -0,0 +1,203 @@
+package com.example.inventory.event;
+
+import com.example.inventory.dto.LowStockCrossing;
+import com.example.inventory.exception.TooManySubscribersException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes low-stock threshold crossings to Server-Sent Events subscribers.
+ * This class demonstrates:
+ * - Server-Sent Events with SseEmitter
+ * - Detecting threshold crossings incrementally from committed changes, instead of re-querying
+ * - Per-subscriber bounded buffers, so a slow client can neither hold up writers nor exhaust memory
+ *
+ * Subscribers are indexed by threshold, so a change from quantity a to quantity b only visits the
+ * thresholds between the two. Every subscriber has its own bounded buffer, drained on a virtual
+ * thread; the committing thread only enqueues. When a client falls so far behind that its buffer
+ * is full, its pending crossings are dropped and it is sent a single "resync" event instead, after
+ * which it should reload GET /api/inventory/low-stock.
+ */
+@Component
+public class LowStockFeed {
+
+    static final String CROSSING_EVENT = "low-stock";
+    static final String RESYNC_EVENT = "resync";
+
+    private final ConcurrentSkipListMap<Integer, Set<Subscriber>> subscribersByThreshold =
+            new ConcurrentSkipListMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Executor executor;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final Duration timeout;
+
+    @Autowired
+    public LowStockFeed(@Value("${inventory.low-stock-feed.max-subscribers:1000}") int maxSubscribers,
+                        @Value("${inventory.low-stock-feed.buffer-size:256}") int bufferSize,
+                        @Value("${inventory.low-stock-feed.timeout:30m}") Duration timeout) {
+        this(Executors.newVirtualThreadPerTaskExecutor(), maxSubscribers, bufferSize, timeout);
+    }
+
+    LowStockFeed(Executor executor, int maxSubscribers, int bufferSize, Duration timeout) {
+        this.executor = executor;
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Subscribe to the crossings of the given threshold.
+     * @throws TooManySubscribersException if the maximum number of subscribers is reached
+     */
+    public SseEmitter subscribe(int threshold) {
+        return register(threshold, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter register(int threshold, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new TooManySubscribersException(
+                    "Low-stock feed has reached its limit of " + maxSubscribers + " subscribers");
+        }
+        Subscriber subscriber = new Subscriber(threshold, emitter);
+        subscribersByThreshold.compute(threshold, (key, subscribers) -> {
+            Set<Subscriber> result = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(e -> unregister(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Number of open subscriptions.
+     */
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * Notify the subscribers of every threshold the committed change crossed.
+     * A threshold t is crossed downwards when quantity &lt; t &lt;= previousQuantity and upwards
+     * when previousQuantity &lt; t &lt;= quantity.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        int previous = event.previousQuantity();
+        int current = event.quantity();
+        if (previous == current || subscribersByThreshold.isEmpty()) {
+            return;
+        }
+        LowStockCrossing.Direction direction = current < previous
+                ? LowStockCrossing.Direction.BELOW_THRESHOLD
+                : LowStockCrossing.Direction.RESTOCKED;
+        ConcurrentNavigableMap<Integer, Set<Subscriber>> crossed =
+                subscribersByThreshold.subMap(Math.min(previous, current), false, Math.max(previous, current), true);
+
+        for (Map.Entry<Integer, Set<Subscriber>> entry : crossed.entrySet()) {
+            LowStockCrossing crossing = new LowStockCrossing(
+                    event.productCode(), direction, entry.getKey(), previous, current);
+            for (Subscriber subscriber : entry.getValue()) {
+                subscriber.offer(crossing);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribersByThreshold.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        if (subscriber.removed.compareAndSet(false, true)) {
+            subscriberCount.decrementAndGet();
+            subscribersByThreshold.computeIfPresent(subscriber.threshold, (key, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+
+    /**
+     * One subscription: its buffer of crossings not yet sent, and at most one drain running at a time.
+     */
+    private final class Subscriber {
+
+        private final int threshold;
+        private final SseEmitter emitter;
+        private final BlockingQueue<LowStockCrossing> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private volatile boolean overflowed;
+
+        Subscriber(int threshold, SseEmitter emitter) {
+            this.threshold = threshold;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void offer(LowStockCrossing crossing) {
+            if (!buffer.offer(crossing)) {
+                // The client does not keep up: it gets one resync event instead of the backlog
+                overflowed = true;
+                buffer.clear();
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    if (overflowed) {
+                        overflowed = false;
+                        emitter.send(SseEmitter.event().name(RESYNC_EVENT).data("reload /api/inventory/low-stock"));
+                    }
+                    LowStockCrossing crossing;
+                    while ((crossing = buffer.poll()) != null) {
+                        emitter.send(SseEmitter.event()
+                                .name(CROSSING_EVENT)
+                                .data(crossing, MediaType.APPLICATION_JSON));
+                    }
+                    draining.set(false);
+                    // Re-check: a crossing offered after the last poll may have found the drain still running
+                } while ((overflowed || !buffer.isEmpty()) && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                // The client has gone away or the emitter is already complete; the container reports the error
+                unregister(this);
+            }
+        }
+    }
+}
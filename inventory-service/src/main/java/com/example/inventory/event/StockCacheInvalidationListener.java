@@ -0,0 +1,46 @@
+package com.example.inventory.event;
+
+import com.example.inventory.client.ProductServiceClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Tells the product service to drop its cached stock answers when inventory changes.
+ * This class demonstrates:
+ * - Transaction-bound event listeners (runs only after the change is committed)
+ * - Asynchronous, best-effort notifications between microservices
+ */
+@Component
+@ConditionalOnProperty(name = "product-service.stock-cache-invalidation.enabled", matchIfMissing = true)
+public class StockCacheInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(StockCacheInvalidationListener.class);
+
+    private final ProductServiceClient productServiceClient;
+
+    @Autowired
+    public StockCacheInvalidationListener(ProductServiceClient productServiceClient) {
+        this.productServiceClient = productServiceClient;
+    }
+
+    /**
+     * Push the invalidation. A failed push is only logged: the product service cache
+     * entries also expire on their own after a short TTL.
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        try {
+            productServiceClient.invalidateStockCache(List.of(event.productCode()));
+        } catch (Exception e) {
+            log.warn("Could not invalidate product-service stock cache for {}: {}", event.productCode(), e.getMessage());
+        }
+    }
+}
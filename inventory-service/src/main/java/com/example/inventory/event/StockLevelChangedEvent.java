@@ -0,0 +1,14 @@
+package com.example.inventory.event;
+
+/**
+ * Application event published when the stock level of an inventory item is changed through
+ * InventoryService, with the level before and after the change.
+ * This class demonstrates:
+ * - Spring application events carrying a state transition instead of only the new state
+ *
+ * Listeners can tell from the two levels whether a threshold was crossed, without keeping
+ * their own copy of every stock level. When an item is moved to another product code, the
+ * previous code drops to 0 and the new code starts fresh, as for a created item.
+ */
+public record StockLevelChangedEvent(String productCode, int previousQuantity, int quantity) {
+}
@@ -0,0 +1,23 @@
+package com.example.inventory.exception;
+
+import com.example.inventory.dto.BatchAdjustmentResult;
+
+/**
+ * Exception thrown when an all-or-nothing batch quantity adjustment has a line that cannot be applied.
+ * Throwing it rolls back the lines that were already applied; it carries the per-line report.
+ * This class demonstrates:
+ * - Exceptions carrying a structured response body
+ */
+public class BatchAdjustmentRejectedException extends RuntimeException {
+
+    private final BatchAdjustmentResult result;
+
+    public BatchAdjustmentRejectedException(BatchAdjustmentResult result) {
+        super("Batch quantity adjustment rejected");
+        this.result = result;
+    }
+
+    public BatchAdjustmentResult getResult() {
+        return result;
+    }
+}
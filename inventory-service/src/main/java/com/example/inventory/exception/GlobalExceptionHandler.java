@@ -0,0 +1,39 @@
+package com.example.inventory.exception;
+
+import com.example.inventory.dto.BatchAdjustmentResult;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * Global exception handler for the inventory service.
+ * This class demonstrates:
+ * - Centralized exception handling in a microservice
+ * - Mapping optimistic locking failures to HTTP 409 Conflict
+ * - Returning a structured report for rejected batch operations
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    /**
+     * Handle concurrent modification of the same inventory item.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        return new ResponseEntity<>(
+                Map.of("message", "Inventory item was modified concurrently, please retry"),
+                HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handle an all-or-nothing batch quantity adjustment that was rolled back.
+     */
+    @ExceptionHandler(BatchAdjustmentRejectedException.class)
+    public ResponseEntity<BatchAdjustmentResult> handleBatchAdjustmentRejected(BatchAdjustmentRejectedException ex) {
+        return new ResponseEntity<>(ex.getResult(), HttpStatus.CONFLICT);
+    }
+}
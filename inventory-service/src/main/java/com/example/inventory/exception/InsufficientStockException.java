@@ -0,0 +1,18 @@
+package com.example.inventory.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a quantity change would take the stock of a product below zero.
+ * This class demonstrates:
+ * - Custom exception handling in a microservice
+ * - HTTP status code mapping with @ResponseStatus
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class InsufficientStockException extends RuntimeException {
+
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.inventory.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when an event stream cannot take another subscriber.
+ * This class demonstrates:
+ * - Custom exception handling in a microservice
+ * - HTTP status code mapping with @ResponseStatus
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class TooManySubscribersException extends RuntimeException {
+
+    public TooManySubscribersException(String message) {
+        super(message);
+    }
+}
@@ -1,16 +1,27 @@
 package com.example.inventory.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 /**
  * Inventory Item entity class.
@@ -18,18 +29,38 @@ import lombok.NoArgsConstructor;
  * - JPA annotations for ORM
  * - Bean validation
  * - Lombok annotations to reduce boilerplate code
+ * - Optimistic locking with a version column
+ * - Version and last-modified columns, the validators behind ETag and Last-Modified headers
+ * - Database indexes and unique constraints backing the repository finder queries
+ * - Natural id (product code) and Hibernate second-level caching
+ *
+ * Items are cached by id in the "inventory-items" region and their ids by product code in the
+ * "inventory-items-by-product-code" region, so a lookup by product code is usually answered
+ * without any SQL. The regions are configured (size, expiry, statistics) in application.conf.
  */
 @Entity
-@Table(name = "inventory_items")
+@Table(name = "inventory_items",
+        uniqueConstraints = @UniqueConstraint(name = "uk_inventory_items_product_code", columnNames = "productCode"),
+        indexes = {
+                @Index(name = "idx_inventory_items_product_id", columnList = "productId"),
+                @Index(name = "idx_inventory_items_warehouse_location", columnList = "warehouseLocation"),
+                @Index(name = "idx_inventory_items_quantity", columnList = "quantity")
+        })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = InventoryItem.CACHE_REGION)
+@NaturalIdCache(region = InventoryItem.NATURAL_ID_CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class InventoryItem {
 
+    public static final String CACHE_REGION = "inventory-items";
+    public static final String NATURAL_ID_CACHE_REGION = "inventory-items-by-product-code";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId(mutable = true)
     @NotBlank(message = "Product code is required")
     private String productCode;
 
@@ -41,4 +72,16 @@ public class InventoryItem {
 
     @NotNull(message = "Product ID is required")
     private Long productId;
+
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    @UpdateTimestamp
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant lastModified;
+
+    public InventoryItem(Long id, String productCode, Integer quantity, String warehouseLocation, Long productId) {
+        this(id, productCode, quantity, warehouseLocation, productId, null, null);
+    }
 }
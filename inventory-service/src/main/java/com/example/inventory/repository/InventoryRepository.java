@@ -1,31 +1,75 @@
 package com.example.inventory.repository;
 
 import com.example.inventory.model.InventoryItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Inventory repository interface.
  * This interface demonstrates:
  * - Spring Data JPA repository pattern in a microservice
  * - Custom query methods
+ * - Atomic conditional updates
+ * - Keyset (cursor) pagination
+ * - Custom repository fragments (batched JDBC updates, natural id lookups, projections)
  */
 @Repository
-public interface InventoryRepository extends JpaRepository<InventoryItem, Long> {
+public interface InventoryRepository extends JpaRepository<InventoryItem, Long>, InventoryRepositoryCustom {
 
     /**
-     * Find inventory item by product code.
+     * Find inventory items for several product codes with a single IN query.
      */
-    Optional<InventoryItem> findByProductCode(String productCode);
+    List<InventoryItem> findByProductCodeIn(Collection<String> productCodes);
+
+    /**
+     * Check whether an inventory item exists for the product code.
+     */
+    boolean existsByProductCode(String productCode);
+
+    /**
+     * Find which of the given product codes have an inventory item, with a single IN query.
+     */
+    @Query("SELECT i.productCode FROM InventoryItem i WHERE i.productCode IN :productCodes")
+    List<String> findExistingProductCodes(Collection<String> productCodes);
+
+    /**
+     * Atomically add delta to the quantity of a product, unless that would make it negative.
+     * The check and the write happen in a single UPDATE statement, so concurrent adjustments
+     * can neither be lost nor overshoot.
+     * @return the number of updated rows: 1 on success, 0 if the product does not exist or
+     *         has insufficient stock
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InventoryItem i SET i.quantity = i.quantity + :delta, i.version = i.version + 1, " +
+           "i.lastModified = instant " +
+           "WHERE i.productCode = :productCode AND i.quantity + :delta >= 0")
+    int adjustQuantity(String productCode, int delta);
+
+    /**
+     * Current stock level of several product codes, with one IN query.
+     * Each row holds the product code, item id, version and quantity.
+     */
+    @Query("SELECT i.productCode, i.id, i.version, i.quantity FROM InventoryItem i WHERE i.productCode IN :productCodes")
+    List<Object[]> findStockLevels(Collection<String> productCodes);
 
     /**
      * Find inventory items by product ID.
      */
     List<InventoryItem> findByProductId(Long productId);
 
+    /**
+     * Total quantity per product id over all warehouses, for several products with one grouped IN query.
+     * Each row holds the product id and the summed quantity; products without inventory items have no row.
+     */
+    @Query("SELECT i.productId, SUM(i.quantity) FROM InventoryItem i WHERE i.productId IN :productIds GROUP BY i.productId")
+    List<Object[]> sumQuantitiesByProductIdIn(Collection<Long> productIds);
+
     /**
      * Find inventory items by warehouse location.
      */
@@ -35,4 +79,10 @@ public interface InventoryRepository extends JpaRepository<InventoryItem, Long>
      * Find inventory items with quantity less than the specified value.
      */
     List<InventoryItem> findByQuantityLessThan(Integer quantity);
+
+    /**
+     * Find the next page of inventory items after the given id (keyset pagination).
+     * Seeks on the primary key instead of using an offset, so every page costs the same.
+     */
+    List<InventoryItem> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
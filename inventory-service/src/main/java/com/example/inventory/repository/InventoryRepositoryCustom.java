@@ -0,0 +1,46 @@
+package com.example.inventory.repository;
+
+import com.example.inventory.dto.QuantityAdjustment;
+import com.example.inventory.model.InventoryItem;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Inventory repository operations implemented with plain JDBC, the Hibernate Session API or the Criteria API.
+ * This interface demonstrates:
+ * - Custom repository fragments in Spring Data JPA
+ */
+public interface InventoryRepositoryCustom {
+
+    /**
+     * Find inventory item by product code, its natural id.
+     * Served from the second-level cache (natural id and entity regions) when possible,
+     * instead of always running a query.
+     */
+    Optional<InventoryItem> findByProductCode(String productCode);
+
+    /**
+     * Apply several quantity changes, in order, as one JDBC batch of conditional UPDATEs.
+     * Each statement works like {@link InventoryRepository#adjustQuantity(String, int)}.
+     * Must be called inside a transaction.
+     * @return the number of updated rows per adjustment: 1 on success, 0 if the product does not
+     *         exist or has insufficient stock
+     */
+    int[] adjustQuantities(List<QuantityAdjustment> adjustments);
+
+    /**
+     * Select only the given attributes of the matching items (a dynamic projection),
+     * so the columns of the other attributes are never read.
+     * @param attributes InventoryItem attribute names, in the order the entries of each map should have
+     * @param specification the items to select, or null for all items
+     * @param sort the order of the items
+     * @param limit the maximum number of items, or 0 for no limit
+     * @return one map from attribute name to value per item
+     */
+    List<Map<String, Object>> findAttributes(List<String> attributes, Specification<InventoryItem> specification,
+                                             Sort sort, int limit);
+}
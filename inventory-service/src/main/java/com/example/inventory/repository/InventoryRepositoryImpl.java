@@ -0,0 +1,152 @@
+package com.example.inventory.repository;
+
+import com.example.inventory.dto.QuantityAdjustment;
+import com.example.inventory.model.InventoryItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC and Hibernate implementation of {@link InventoryRepositoryCustom}.
+ * This class demonstrates:
+ * - JDBC batch updates with JdbcTemplate
+ * - Mixing JDBC and JPA in the same transaction
+ * - Natural id lookups through the Hibernate Session API
+ * - Keeping the second-level cache consistent with writes that bypass Hibernate
+ * - Tuple queries with a select list built at runtime
+ */
+public class InventoryRepositoryImpl implements InventoryRepositoryCustom {
+
+    private static final String ADJUST_QUANTITY_SQL =
+            "UPDATE inventory_items SET quantity = quantity + ?, version = version + 1, last_modified = CURRENT_TIMESTAMP " +
+            "WHERE product_code = ? AND quantity + ? >= 0";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final SessionFactory sessionFactory;
+
+    @Autowired
+    public InventoryRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                                   EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @Override
+    public Optional<InventoryItem> findByProductCode(String productCode) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return entityManager.unwrap(Session.class)
+                    .bySimpleNaturalId(InventoryItem.class)
+                    .loadOptional(productCode);
+        }
+        // Outside a transaction a short-lived session is enough; it only takes a JDBC
+        // connection when the item is not in the second-level cache
+        try (Session session = sessionFactory.openSession()) {
+            return session.bySimpleNaturalId(InventoryItem.class).loadOptional(productCode);
+        }
+    }
+
+    @Override
+    public int[] adjustQuantities(List<QuantityAdjustment> adjustments) {
+        // Same as adjustQuantity's flushAutomatically/clearAutomatically: pending entity changes are
+        // written first, and entities loaded before do not keep their old quantities afterwards
+        entityManager.flush();
+        int[] updatedRows = jdbcTemplate.batchUpdate(ADJUST_QUANTITY_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                QuantityAdjustment adjustment = adjustments.get(i);
+                ps.setInt(1, adjustment.getQuantityChange());
+                ps.setString(2, adjustment.getProductCode());
+                ps.setInt(3, adjustment.getQuantityChange());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return adjustments.size();
+            }
+        });
+        entityManager.clear();
+        evictCachedItems();
+        return updatedRows;
+    }
+
+    @Override
+    public List<Map<String, Object>> findAttributes(List<String> attributes, Specification<InventoryItem> specification,
+                                                    Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<InventoryItem> root = query.from(InventoryItem.class);
+
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        // Scalar tuples never go through the second-level cache, so this always reads the current rows
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+
+        List<Tuple> tuples = typedQuery.getResultList();
+        List<Map<String, Object>> result = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String attribute : attributes) {
+                row.put(attribute, tuple.get(attribute));
+            }
+            result.add(row);
+        }
+        return result;
+    }
+
+    /**
+     * Hibernate does not see the JDBC updates, so the cached items (with their old quantities) are
+     * evicted now and again once the transaction has ended, in case another session cached the old
+     * rows in between. The natural id region can stay: product codes are not changed here.
+     */
+    private void evictCachedItems() {
+        entityManager.getEntityManagerFactory().getCache().evict(InventoryItem.class);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    sessionFactory.getCache().evictEntityData(InventoryItem.class);
+                }
+            });
+        }
+    }
+}
@@ -1,29 +1,70 @@
 package com.example.inventory.service;
 
+import com.example.inventory.cache.StockLevelTable;
+import com.example.inventory.dto.BatchAdjustmentMode;
+import com.example.inventory.dto.BatchAdjustmentResult;
+import com.example.inventory.dto.PartialInventoryItem;
+import com.example.inventory.dto.QuantityAdjustment;
+import com.example.inventory.dto.QuantityAdjustmentOutcome;
+import com.example.inventory.dto.StockCheckRequest;
+import com.example.inventory.event.InventoryChangedEvent;
+import com.example.inventory.event.StockLevelChangedEvent;
 import com.example.inventory.model.InventoryItem;
 import com.example.inventory.repository.InventoryRepository;
+import com.example.inventory.exception.BatchAdjustmentRejectedException;
+import com.example.inventory.exception.InsufficientStockException;
+import com.example.inventory.exception.InvalidFieldsException;
 import com.example.inventory.exception.ResourceNotFoundException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Inventory service class.
  * This class demonstrates:
  * - Service layer in a microservice architecture
  * - Transaction management
+ * - Method timing with Micrometer (@Timed)
  * - Business logic implementation
+ * - Publishing change events for other components (including stock level transitions)
+ * - Sparse fieldsets backed by dynamic projections
  */
 @Service
+@Timed(value = "inventory.service", histogram = true)
 public class InventoryService {
 
+    /**
+     * Inventory item fields that can be selected in a sparse fieldset, by their JSON name.
+     */
+    public static final Set<String> SELECTABLE_FIELDS = Set.of(
+            "id", "productCode", "quantity", "warehouseLocation", "productId", "version", "lastModified");
+
     private final InventoryRepository inventoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockLevelTable stockLevelTable;
 
     @Autowired
-    public InventoryService(InventoryRepository inventoryRepository) {
+    public InventoryService(InventoryRepository inventoryRepository, ApplicationEventPublisher eventPublisher,
+                            StockLevelTable stockLevelTable) {
         this.inventoryRepository = inventoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.stockLevelTable = stockLevelTable;
     }
 
     /**
@@ -33,6 +74,16 @@ public class InventoryService {
         return inventoryRepository.findAll();
     }
 
+    /**
+     * Get a page of inventory items ordered by id, starting after the given cursor.
+     * @param afterId id of the last item of the previous page, or null for the first page
+     * @param limit maximum number of items to return
+     */
+    public List<InventoryItem> getInventoryItemsAfter(Long afterId, int limit) {
+        long cursor = afterId != null ? afterId : 0L;
+        return inventoryRepository.findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, limit));
+    }
+
     /**
      * Get inventory item by ID.
      * @throws ResourceNotFoundException if item not found
@@ -63,7 +114,9 @@ public class InventoryService {
      */
     @Transactional
     public InventoryItem createInventoryItem(InventoryItem inventoryItem) {
-        return inventoryRepository.save(inventoryItem);
+        InventoryItem savedItem = inventoryRepository.save(inventoryItem);
+        eventPublisher.publishEvent(InventoryChangedEvent.set(savedItem));
+        return savedItem;
     }
 
     /**
@@ -73,13 +126,28 @@ public class InventoryService {
     @Transactional
     public InventoryItem updateInventoryItem(Long id, InventoryItem inventoryItemDetails) {
         InventoryItem inventoryItem = getInventoryItemById(id);
+        String previousProductCode = inventoryItem.getProductCode();
+        int previousQuantity = inventoryItem.getQuantity();
         
         inventoryItem.setProductCode(inventoryItemDetails.getProductCode());
         inventoryItem.setQuantity(inventoryItemDetails.getQuantity());
         inventoryItem.setWarehouseLocation(inventoryItemDetails.getWarehouseLocation());
         inventoryItem.setProductId(inventoryItemDetails.getProductId());
         
-        return inventoryRepository.save(inventoryItem);
+        // Flushed, so that the events carry the version the item is committed with
+        InventoryItem savedItem = inventoryRepository.saveAndFlush(inventoryItem);
+        if (Objects.equals(previousProductCode, savedItem.getProductCode())) {
+            eventPublisher.publishEvent(InventoryChangedEvent.set(savedItem));
+            eventPublisher.publishEvent(new StockLevelChangedEvent(
+                    savedItem.getProductCode(), previousQuantity, savedItem.getQuantity()));
+        } else {
+            // The stock moves away from the previous code; the new code starts fresh, like a created item
+            eventPublisher.publishEvent(
+                    InventoryChangedEvent.removed(previousProductCode, savedItem.getId(), savedItem.getVersion()));
+            eventPublisher.publishEvent(InventoryChangedEvent.set(savedItem));
+            eventPublisher.publishEvent(new StockLevelChangedEvent(previousProductCode, previousQuantity, 0));
+        }
+        return savedItem;
     }
 
     /**
@@ -90,29 +158,150 @@ public class InventoryService {
     public void deleteInventoryItem(Long id) {
         InventoryItem inventoryItem = getInventoryItemById(id);
         inventoryRepository.delete(inventoryItem);
+        eventPublisher.publishEvent(InventoryChangedEvent.removed(
+                inventoryItem.getProductCode(), inventoryItem.getId(), inventoryItem.getVersion()));
     }
 
     /**
-     * Update inventory quantity.
+     * Update inventory quantity and return the updated item.
      * @throws ResourceNotFoundException if item not found
+     * @throws InsufficientStockException if the change would make the quantity negative
      */
     @Transactional
     public InventoryItem updateInventoryQuantity(String productCode, Integer quantityChange) {
-        InventoryItem inventoryItem = getInventoryItemByProductCode(productCode);
-        
-        int newQuantity = inventoryItem.getQuantity() + quantityChange;
-        if (newQuantity < 0) {
-            throw new IllegalArgumentException("Cannot reduce quantity below zero");
+        adjustQuantity(productCode, quantityChange);
+        InventoryItem updatedItem = getInventoryItemByProductCode(productCode);
+        // The conditional UPDATE keeps the row locked until commit, so this read sees exactly its result
+        eventPublisher.publishEvent(InventoryChangedEvent.adjusted(
+                productCode, updatedItem.getId(), updatedItem.getVersion(), updatedItem.getQuantity()));
+        eventPublisher.publishEvent(new StockLevelChangedEvent(
+                productCode, updatedItem.getQuantity() - quantityChange, updatedItem.getQuantity()));
+        return updatedItem;
+    }
+
+    /**
+     * Atomically add quantityChange to the stock of a product.
+     * Uses a single conditional UPDATE instead of read-modify-write, so concurrent orders for
+     * the same product never lose updates or take the quantity below zero.
+     * @throws ResourceNotFoundException if item not found
+     * @throws InsufficientStockException if the change would make the quantity negative
+     */
+    @Transactional
+    public void adjustInventoryQuantity(String productCode, int quantityChange) {
+        adjustQuantity(productCode, quantityChange);
+        publishAdjusted(List.of(productCode));
+    }
+
+    private void adjustQuantity(String productCode, int quantityChange) {
+        int updatedRows = inventoryRepository.adjustQuantity(productCode, quantityChange);
+        if (updatedRows == 0) {
+            if (inventoryRepository.existsByProductCode(productCode)) {
+                throw new InsufficientStockException("Insufficient stock for product code: " + productCode);
+            }
+            throw new ResourceNotFoundException("Inventory item not found with product code: " + productCode);
         }
-        
-        inventoryItem.setQuantity(newQuantity);
-        return inventoryRepository.save(inventoryItem);
+    }
+
+    /**
+     * Publish the stock levels of adjusted product codes, read with one query in the adjusting
+     * transaction. The adjusted rows stay locked until commit, so the levels read are the ones committed.
+     */
+    private void publishAdjusted(Collection<String> productCodes) {
+        for (Object[] row : inventoryRepository.findStockLevels(productCodes)) {
+            eventPublisher.publishEvent(InventoryChangedEvent.adjusted(
+                    (String) row[0], (Long) row[1], (Long) row[2], (Integer) row[3]));
+        }
+    }
+
+    /**
+     * Apply several quantity changes in one transaction, as one batch of conditional UPDATEs.
+     * Lines are applied in order, so a later line for the same product code sees the earlier ones.
+     * In ALL_OR_NOTHING mode nothing is changed unless every line can be applied; in BEST_EFFORT
+     * mode the lines that cannot be applied are skipped and the others are committed.
+     * @return the outcome of every line, in request order
+     * @throws BatchAdjustmentRejectedException in ALL_OR_NOTHING mode, if any line cannot be applied
+     */
+    @Transactional
+    public BatchAdjustmentResult adjustInventoryQuantities(List<QuantityAdjustment> adjustments, BatchAdjustmentMode mode) {
+        List<QuantityAdjustmentOutcome> outcomes = new ArrayList<>(adjustments.size());
+        List<QuantityAdjustment> validAdjustments = new ArrayList<>(adjustments.size());
+        List<QuantityAdjustmentOutcome> validOutcomes = new ArrayList<>(adjustments.size());
+        for (QuantityAdjustment adjustment : adjustments) {
+            if (adjustment == null) {
+                outcomes.add(new QuantityAdjustmentOutcome(null, null, QuantityAdjustmentOutcome.Status.INVALID));
+                continue;
+            }
+            QuantityAdjustmentOutcome outcome = new QuantityAdjustmentOutcome(
+                    adjustment.getProductCode(), adjustment.getQuantityChange(), null);
+            outcomes.add(outcome);
+            if (adjustment.getProductCode() == null || adjustment.getQuantityChange() == null) {
+                outcome.setStatus(QuantityAdjustmentOutcome.Status.INVALID);
+            } else {
+                validAdjustments.add(adjustment);
+                validOutcomes.add(outcome);
+            }
+        }
+
+        boolean allValid = validAdjustments.size() == adjustments.size();
+        if (mode == BatchAdjustmentMode.ALL_OR_NOTHING && !allValid) {
+            validOutcomes.forEach(outcome -> outcome.setStatus(QuantityAdjustmentOutcome.Status.NOT_APPLIED));
+            throw new BatchAdjustmentRejectedException(new BatchAdjustmentResult(mode, false, 0, outcomes));
+        }
+
+        int[] updatedRows = validAdjustments.isEmpty()
+                ? new int[0]
+                : inventoryRepository.adjustQuantities(validAdjustments);
+        Set<String> failedProductCodes = new HashSet<>();
+        for (int i = 0; i < validOutcomes.size(); i++) {
+            // Drivers may report a successful statement without a row count (SUCCESS_NO_INFO)
+            if (updatedRows[i] != 0) {
+                validOutcomes.get(i).setStatus(QuantityAdjustmentOutcome.Status.APPLIED);
+            } else {
+                failedProductCodes.add(validOutcomes.get(i).getProductCode());
+            }
+        }
+
+        if (!failedProductCodes.isEmpty()) {
+            Set<String> existingProductCodes = new HashSet<>(inventoryRepository.findExistingProductCodes(failedProductCodes));
+            for (QuantityAdjustmentOutcome outcome : validOutcomes) {
+                if (outcome.getStatus() == null) {
+                    outcome.setStatus(existingProductCodes.contains(outcome.getProductCode())
+                            ? QuantityAdjustmentOutcome.Status.INSUFFICIENT_STOCK
+                            : QuantityAdjustmentOutcome.Status.NOT_FOUND);
+                }
+            }
+            if (mode == BatchAdjustmentMode.ALL_OR_NOTHING) {
+                for (QuantityAdjustmentOutcome outcome : validOutcomes) {
+                    if (outcome.getStatus() == QuantityAdjustmentOutcome.Status.APPLIED) {
+                        outcome.setStatus(QuantityAdjustmentOutcome.Status.NOT_APPLIED);
+                    }
+                }
+                throw new BatchAdjustmentRejectedException(new BatchAdjustmentResult(mode, false, 0, outcomes));
+            }
+        }
+
+        int applied = 0;
+        Set<String> adjustedProductCodes = new LinkedHashSet<>();
+        for (QuantityAdjustmentOutcome outcome : validOutcomes) {
+            if (outcome.getStatus() == QuantityAdjustmentOutcome.Status.APPLIED) {
+                applied++;
+                adjustedProductCodes.add(outcome.getProductCode());
+            }
+        }
+        if (!adjustedProductCodes.isEmpty()) {
+            publishAdjusted(adjustedProductCodes);
+        }
+        return new BatchAdjustmentResult(mode, true, applied, outcomes);
     }
 
     /**
      * Check if product is in stock.
+     * Answered from the in-memory stock level table when it is enabled, without touching the database.
      */
     public boolean isInStock(String productCode, Integer requiredQuantity) {
+        if (stockLevelTable.isReady()) {
+            return stockLevelTable.isInStock(productCode, requiredQuantity);
+        }
         try {
             InventoryItem item = getInventoryItemByProductCode(productCode);
             return item.getQuantity() >= requiredQuantity;
@@ -121,10 +310,152 @@ public class InventoryService {
         }
     }
 
+    /**
+     * Check stock for several products at once.
+     * All product codes are resolved with one IN query. Lines repeating the same product code
+     * are added up, since they all draw on the same stock.
+     * @return a map from product code to whether the required quantity is available
+     */
+    public Map<String, Boolean> checkStock(List<StockCheckRequest> requests) {
+        Map<String, Integer> requiredQuantities = new LinkedHashMap<>();
+        for (StockCheckRequest request : requests) {
+            if (request == null || request.getProductCode() == null) {
+                continue;
+            }
+            int quantity = request.getQuantity() != null ? request.getQuantity() : 1;
+            requiredQuantities.merge(request.getProductCode(), quantity, Integer::sum);
+        }
+        if (requiredQuantities.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Integer> availableQuantities = new HashMap<>();
+        for (InventoryItem item : inventoryRepository.findByProductCodeIn(requiredQuantities.keySet())) {
+            availableQuantities.put(item.getProductCode(), item.getQuantity());
+        }
+
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        requiredQuantities.forEach((productCode, required) -> {
+            Integer available = availableQuantities.get(productCode);
+            result.put(productCode, available != null && available >= required);
+        });
+        return result;
+    }
+
+    /**
+     * Get the available quantity of several products, identified by product id, at once.
+     * Quantities are summed over all inventory items (warehouses) of a product, with one grouped IN query.
+     * @return a map from every requested product id to its available quantity; 0 for products without inventory
+     */
+    public Map<Long, Integer> getAvailableQuantities(Collection<Long> productIds) {
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        for (Long productId : productIds) {
+            if (productId != null) {
+                result.put(productId, 0);
+            }
+        }
+        if (result.isEmpty()) {
+            return Map.of();
+        }
+
+        for (Object[] row : inventoryRepository.sumQuantitiesByProductIdIn(result.keySet())) {
+            result.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        return result;
+    }
+
     /**
      * Get low stock items (items with quantity below threshold).
      */
     public List<InventoryItem> getLowStockItems(Integer threshold) {
         return inventoryRepository.findByQuantityLessThan(threshold);
     }
+
+    /**
+     * Get all inventory items ordered by id, with only the selected fields.
+     * Like the other sparse fieldset queries, this selects only the columns of the requested
+     * fields (plus id and version).
+     * @param fields the fields to return; id is always included
+     * @throws InvalidFieldsException if a field cannot be selected
+     */
+    public List<PartialInventoryItem> getAllInventoryItemFields(List<String> fields) {
+        return findFields(fields, null, Sort.by("id"), 0);
+    }
+
+    /**
+     * Get a page of inventory items ordered by id, with only the selected fields.
+     * @see #getInventoryItemsAfter(Long, int)
+     * @see #getAllInventoryItemFields(List)
+     */
+    public List<PartialInventoryItem> getInventoryItemFieldsAfter(Long afterId, int limit, List<String> fields) {
+        long cursor = afterId != null ? afterId : 0L;
+        return findFields(fields, (root, query, cb) -> cb.greaterThan(root.<Long>get("id"), cursor),
+                Sort.by("id"), limit);
+    }
+
+    /**
+     * Get inventory items by product ID, with only the selected fields.
+     * @see #getAllInventoryItemFields(List)
+     */
+    public List<PartialInventoryItem> getInventoryItemFieldsByProductId(Long productId, List<String> fields) {
+        return findFields(fields, (root, query, cb) -> cb.equal(root.get("productId"), productId),
+                Sort.unsorted(), 0);
+    }
+
+    /**
+     * Get low stock items (items with quantity below threshold), with only the selected fields.
+     * @see #getAllInventoryItemFields(List)
+     */
+    public List<PartialInventoryItem> getLowStockItemFields(Integer threshold, List<String> fields) {
+        return findFields(fields, (root, query, cb) -> cb.lessThan(root.<Integer>get("quantity"), threshold),
+                Sort.unsorted(), 0);
+    }
+
+    /**
+     * Select the requested fields, plus the id and version every partial item carries.
+     */
+    private List<PartialInventoryItem> findFields(List<String> fields, Specification<InventoryItem> specification,
+                                                  Sort sort, int limit) {
+        Set<String> selected = selectedFields(fields);
+        List<String> attributes = new ArrayList<>(selected);
+        if (!selected.contains("version")) {
+            attributes.add("version");
+        }
+
+        List<Map<String, Object>> rows = inventoryRepository.findAttributes(attributes, specification, sort, limit);
+        List<PartialInventoryItem> result = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Long id = (Long) row.get("id");
+            Long version = (Long) row.get("version");
+            row.keySet().retainAll(selected);
+            result.add(new PartialInventoryItem(id, version, row));
+        }
+        return result;
+    }
+
+    /**
+     * The distinct requested fields, in request order, with id first.
+     * @throws InvalidFieldsException if a field cannot be selected
+     */
+    private static Set<String> selectedFields(List<String> fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        List<String> unknown = new ArrayList<>();
+        for (String field : fields) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (SELECTABLE_FIELDS.contains(name)) {
+                selected.add(name);
+            } else {
+                unknown.add(name);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new InvalidFieldsException("Unknown fields: " + String.join(", ", unknown)
+                    + "; selectable fields are " + String.join(", ", SELECTABLE_FIELDS.stream().sorted().toList()));
+        }
+        return selected;
+    }
 }
@@ -0,0 +1,18 @@
+-- Inventory schema, as Hibernate generates it for the InventoryItem entity (H2 dialect).
+-- Used by the fast-start profile instead of spring.jpa.hibernate.ddl-auto=update.
+
+create table inventory_items (
+    id bigint generated by default as identity,
+    product_code varchar(255),
+    quantity integer,
+    warehouse_location varchar(255),
+    product_id bigint,
+    version bigint,
+    last_modified timestamp(6) with time zone,
+    primary key (id),
+    constraint uk_inventory_items_product_code unique (product_code)
+);
+
+create index idx_inventory_items_product_id on inventory_items (product_id);
+create index idx_inventory_items_warehouse_location on inventory_items (warehouse_location);
+create index idx_inventory_items_quantity on inventory_items (quantity);
@@ -0,0 +1,144 @@
+package com.example.inventory.cache;
+
+import com.example.inventory.event.InventoryChangedEvent;
+import com.example.inventory.model.InventoryItem;
+import com.example.inventory.repository.InventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StockLevelTable.
+ * This class demonstrates:
+ * - Testing an in-memory read model in isolation
+ */
+@ExtendWith(MockitoExtension.class)
+public class StockLevelTableTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    private StockLevelTable stockLevelTable;
+
+    @BeforeEach
+    void setUp() {
+        stockLevelTable = new StockLevelTable(inventoryRepository, true);
+    }
+
+    @Test
+    void load_ShouldReadAllPagesFromRepository() {
+        // Arrange
+        List<InventoryItem> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            firstPage.add(new InventoryItem(id, "PROD-" + id, 10, "Warehouse A", id));
+        }
+        when(inventoryRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 1000))).thenReturn(firstPage);
+        when(inventoryRepository.findByIdGreaterThanOrderByIdAsc(1000L, PageRequest.of(0, 1000)))
+                .thenReturn(Arrays.asList(new InventoryItem(1001L, "PROD-1001", 3, "Warehouse B", 1001L)));
+
+        // Act
+        stockLevelTable.load();
+
+        // Assert
+        assertTrue(stockLevelTable.isReady());
+        assertTrue(stockLevelTable.isInStock("PROD-1", 10));
+        assertTrue(stockLevelTable.isInStock("PROD-1001", 3));
+        assertFalse(stockLevelTable.isInStock("PROD-1001", 4));
+        assertFalse(stockLevelTable.isInStock("UNKNOWN", 1));
+    }
+
+    @Test
+    void onInventoryChanged_ShouldApplySetAdjustAndRemove() {
+        // Act & Assert
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.set(item(1L, "PROD-001", 10, 0L)));
+        assertTrue(stockLevelTable.isInStock("PROD-001", 10));
+
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.adjusted("PROD-001", 1L, 1L, 6));
+        assertTrue(stockLevelTable.isInStock("PROD-001", 6));
+        assertFalse(stockLevelTable.isInStock("PROD-001", 7));
+
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.removed("PROD-001", 1L, 1L));
+        assertFalse(stockLevelTable.isInStock("PROD-001", 1));
+    }
+
+    @Test
+    void onInventoryChanged_WithEventsOutOfOrder_ShouldKeepNewestLevel() {
+        // Act & Assert
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.adjusted("PROD-001", 1L, 3L, 2));
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.adjusted("PROD-001", 1L, 2L, 8));
+        assertTrue(stockLevelTable.isInStock("PROD-001", 2));
+        assertFalse(stockLevelTable.isInStock("PROD-001", 3));
+
+        // A late event for the version that was removed does not bring the item back
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.removed("PROD-001", 1L, 4L));
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.set(item(1L, "PROD-001", 5, 4L)));
+        assertFalse(stockLevelTable.isInStock("PROD-001", 1));
+
+        // The item moved back to the product code at a later version
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.set(item(1L, "PROD-001", 7, 6L)));
+        assertTrue(stockLevelTable.isInStock("PROD-001", 7));
+    }
+
+    @Test
+    void onInventoryChanged_WithRenamesAndSwaps_ShouldFollowEveryItem() {
+        // Arrange
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.set(item(1L, "A", 5, 0L)));
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.set(item(2L, "B", 8, 0L)));
+
+        // Act: item 2 moves from B to C, then item 1 from A to B
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.removed("B", 2L, 1L));
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.set(item(2L, "C", 8, 1L)));
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.set(item(1L, "B", 5, 1L)));
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.removed("A", 1L, 1L));
+
+        // Assert
+        assertFalse(stockLevelTable.isInStock("A", 1));
+        assertTrue(stockLevelTable.isInStock("B", 5));
+        assertFalse(stockLevelTable.isInStock("B", 6));
+        assertTrue(stockLevelTable.isInStock("C", 8));
+
+        // Act: the two items swap codes, with the events of the second move arriving first
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.set(item(2L, "B", 8, 2L)));
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.removed("C", 2L, 2L));
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.set(item(1L, "C", 5, 2L)));
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.removed("B", 1L, 2L));
+        // A late event of item 1 still holding B changes nothing
+        stockLevelTable.onInventoryChanged(InventoryChangedEvent.adjusted("B", 1L, 1L, 5));
+
+        // Assert
+        assertTrue(stockLevelTable.isInStock("B", 8));
+        assertTrue(stockLevelTable.isInStock("C", 5));
+        assertFalse(stockLevelTable.isInStock("C", 6));
+    }
+
+    private static InventoryItem item(Long id, String productCode, int quantity, Long version) {
+        InventoryItem item = new InventoryItem(id, productCode, quantity, "Warehouse A", id);
+        item.setVersion(version);
+        return item;
+    }
+
+    @Test
+    void load_WhenDisabled_ShouldNotTouchRepository() {
+        // Arrange
+        StockLevelTable disabledTable = new StockLevelTable(inventoryRepository, false);
+
+        // Act
+        disabledTable.load();
+
+        // Assert
+        assertFalse(disabledTable.isReady());
+        verify(inventoryRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.inventory.controller;
+
+import com.example.inventory.model.InventoryItem;
+import com.example.inventory.repository.InventoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for InventoryController against the full application context.
+ * This class demonstrates:
+ * - Booting the whole application, so that every repository query is validated at startup
+ * - Testing conditional GETs across a real write (version and last-modified set by the database)
+ */
+@SpringBootTest(properties = "product-service.stock-cache-invalidation.enabled=false")
+@AutoConfigureMockMvc
+public class InventoryControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @AfterEach
+    void tearDown() {
+        inventoryRepository.deleteAll();
+    }
+
+    @Test
+    void updateInventoryQuantity_ShouldChangeValidatorsOfItem() throws Exception {
+        // Arrange
+        InventoryItem item = inventoryRepository.save(new InventoryItem(null, "INT-001", 10, "Warehouse A", 1L));
+        String path = "/api/inventory/" + item.getId();
+        String eTag = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act
+        mockMvc.perform(patch("/api/inventory/quantity/INT-001")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantityChange\": -3}")
+                        .header("Prefer", "return=minimal"))
+                .andExpect(status().isNoContent());
+
+        // Assert
+        String newETag = mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity", is(7)))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, newETag);
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, newETag))
+                .andExpect(status().isNotModified());
+    }
+}
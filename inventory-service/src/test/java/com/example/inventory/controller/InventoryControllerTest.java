@@ -1,5 +1,16 @@
 package com.example.inventory.controller;
 
+import com.example.inventory.dto.BatchAdjustmentMode;
+import com.example.inventory.dto.BatchAdjustmentResult;
+import com.example.inventory.dto.PartialInventoryItem;
+import com.example.inventory.dto.QuantityAdjustment;
+import com.example.inventory.dto.QuantityAdjustmentOutcome;
+import com.example.inventory.dto.StockCheckRequest;
+import com.example.inventory.event.LowStockFeed;
+import com.example.inventory.exception.BatchAdjustmentRejectedException;
+import com.example.inventory.exception.InsufficientStockException;
+import com.example.inventory.exception.InvalidFieldsException;
+import com.example.inventory.exception.TooManySubscribersException;
 import com.example.inventory.model.InventoryItem;
 import com.example.inventory.service.InventoryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -8,14 +19,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import static org.hamcrest.Matchers.*;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -37,6 +54,9 @@ public class InventoryControllerTest {
     @MockBean
     private InventoryService inventoryService;
 
+    @MockBean
+    private LowStockFeed lowStockFeed;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -57,7 +77,7 @@ public class InventoryControllerTest {
         when(inventoryService.getAllInventoryItems()).thenReturn(items);
 
         // Act & Assert
-        mockMvc.perform(get("/api/inventory"))
+        mockMvc.perform(get("/api/inventory?unpaged=true"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(2)))
@@ -69,6 +89,21 @@ public class InventoryControllerTest {
         verify(inventoryService, times(1)).getAllInventoryItems();
     }
 
+    @Test
+    void getAllInventoryItems_WithFullPage_ShouldReturnNextCursor() throws Exception {
+        // Arrange
+        when(inventoryService.getInventoryItemsAfter(null, 2)).thenReturn(Arrays.asList(item1, item2));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/inventory?limit=2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "2"))
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        verify(inventoryService, times(1)).getInventoryItemsAfter(null, 2);
+        verify(inventoryService, never()).getAllInventoryItems();
+    }
+
     @Test
     void getInventoryItemById_WithValidId_ShouldReturnItem() throws Exception {
         // Arrange
@@ -101,6 +136,43 @@ public class InventoryControllerTest {
         verify(inventoryService, times(1)).getInventoryItemByProductCode("PROD-001");
     }
 
+    @Test
+    void getInventoryItemByProductCode_ShouldReturnValidatorsAndHonorIfNoneMatch() throws Exception {
+        // Arrange
+        item1.setVersion(7L);
+        item1.setLastModified(Instant.parse("2024-05-01T10:15:30Z"));
+        when(inventoryService.getInventoryItemByProductCode("PROD-001")).thenReturn(item1);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/inventory/product-code/PROD-001"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-7\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Wed, 01 May 2024 10:15:30 GMT"));
+
+        mockMvc.perform(get("/api/inventory/product-code/PROD-001").header(HttpHeaders.IF_NONE_MATCH, "\"1-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getLowStockItems_ShouldReturnNotModifiedWhileListIsUnchanged() throws Exception {
+        // Arrange
+        item1.setVersion(1L);
+        when(inventoryService.getLowStockItems(15)).thenReturn(Arrays.asList(item1));
+        String eTag = mockMvc.perform(get("/api/inventory/low-stock?threshold=15"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/inventory/low-stock?threshold=15").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        item1.setVersion(2L);
+        mockMvc.perform(get("/api/inventory/low-stock?threshold=15").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
     @Test
     void createInventoryItem_WithValidData_ShouldReturnCreatedItem() throws Exception {
         // Arrange
@@ -142,6 +214,25 @@ public class InventoryControllerTest {
         verify(inventoryService, times(1)).updateInventoryItem(eq(1L), any(InventoryItem.class));
     }
 
+    @Test
+    void updateInventoryItem_WithVersionInBody_ShouldIgnoreIt() throws Exception {
+        // Arrange
+        InventoryItem updatedItem = new InventoryItem(1L, "PROD-001", 15, "Warehouse D", 101L);
+        updatedItem.setVersion(3L);
+
+        when(inventoryService.updateInventoryItem(anyLong(), any(InventoryItem.class))).thenReturn(updatedItem);
+
+        // Act & Assert: the version is returned, but never read from a request
+        mockMvc.perform(put("/api/inventory/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"productCode\":\"PROD-001\",\"quantity\":15,\"warehouseLocation\":\"Warehouse D\","
+                        + "\"productId\":101,\"version\":0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(3)));
+
+        verify(inventoryService).updateInventoryItem(eq(1L), argThat(item -> item.getVersion() == null));
+    }
+
     @Test
     void deleteInventoryItem_WithValidId_ShouldReturnNoContent() throws Exception {
         // Arrange
@@ -174,6 +265,71 @@ public class InventoryControllerTest {
         verify(inventoryService, times(1)).updateInventoryQuantity(eq("PROD-001"), eq(5));
     }
 
+    @Test
+    void updateInventoryQuantity_WithReturnMinimal_ShouldNotReadItemBack() throws Exception {
+        // Act & Assert
+        mockMvc.perform(patch("/api/inventory/quantity/PROD-001")
+                .header("Prefer", "return=minimal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantityChange\": -2}"))
+                .andExpect(status().isNoContent());
+
+        verify(inventoryService, times(1)).adjustInventoryQuantity("PROD-001", -2);
+        verify(inventoryService, never()).updateInventoryQuantity(anyString(), anyInt());
+    }
+
+    @Test
+    void updateInventoryQuantity_WithInsufficientStock_ShouldReturnConflict() throws Exception {
+        // Arrange
+        when(inventoryService.updateInventoryQuantity("PROD-001", -50))
+                .thenThrow(new InsufficientStockException("Insufficient stock for product code: PROD-001"));
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/inventory/quantity/PROD-001")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantityChange\": -50}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void adjustInventoryQuantities_ShouldReturnPerLineOutcome() throws Exception {
+        // Arrange
+        List<QuantityAdjustment> adjustments = Arrays.asList(
+                new QuantityAdjustment("PROD-001", 5), new QuantityAdjustment("PROD-002", -50));
+        when(inventoryService.adjustInventoryQuantities(adjustments, BatchAdjustmentMode.BEST_EFFORT))
+                .thenReturn(new BatchAdjustmentResult(BatchAdjustmentMode.BEST_EFFORT, true, 1, Arrays.asList(
+                        new QuantityAdjustmentOutcome("PROD-001", 5, QuantityAdjustmentOutcome.Status.APPLIED),
+                        new QuantityAdjustmentOutcome("PROD-002", -50, QuantityAdjustmentOutcome.Status.INSUFFICIENT_STOCK))));
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/inventory/quantity?mode=BEST_EFFORT")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(adjustments)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.committed", is(true)))
+                .andExpect(jsonPath("$.applied", is(1)))
+                .andExpect(jsonPath("$.lines", hasSize(2)))
+                .andExpect(jsonPath("$.lines[1].status", is("INSUFFICIENT_STOCK")));
+    }
+
+    @Test
+    void adjustInventoryQuantities_WhenRejected_ShouldReturnConflictWithReport() throws Exception {
+        // Arrange
+        List<QuantityAdjustment> adjustments = Arrays.asList(new QuantityAdjustment("NON-EXISTENT", 1));
+        when(inventoryService.adjustInventoryQuantities(adjustments, BatchAdjustmentMode.ALL_OR_NOTHING))
+                .thenThrow(new BatchAdjustmentRejectedException(new BatchAdjustmentResult(
+                        BatchAdjustmentMode.ALL_OR_NOTHING, false, 0, Arrays.asList(
+                        new QuantityAdjustmentOutcome("NON-EXISTENT", 1, QuantityAdjustmentOutcome.Status.NOT_FOUND)))));
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/inventory/quantity")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(adjustments)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.committed", is(false)))
+                .andExpect(jsonPath("$.lines[0].status", is("NOT_FOUND")));
+    }
+
     @Test
     void checkStock_WithInStockItem_ShouldReturnTrue() throws Exception {
         // Arrange
@@ -202,6 +358,43 @@ public class InventoryControllerTest {
         verify(inventoryService, times(1)).isInStock("PROD-001", 15);
     }
 
+    @Test
+    void checkStockBulk_ShouldReturnStockPerProductCode() throws Exception {
+        // Arrange
+        List<StockCheckRequest> requests = Arrays.asList(
+                new StockCheckRequest("PROD-001", 5),
+                new StockCheckRequest("PROD-002", 50));
+        when(inventoryService.checkStock(anyList())).thenReturn(Map.of("PROD-001", true, "PROD-002", false));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/inventory/check-stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.PROD-001", is(true)))
+                .andExpect(jsonPath("$.PROD-002", is(false)));
+
+        verify(inventoryService, times(1)).checkStock(requests);
+    }
+
+    @Test
+    void getAvailableQuantities_ShouldReturnQuantityPerProductId() throws Exception {
+        // Arrange
+        when(inventoryService.getAvailableQuantities(List.of(101L, 102L))).thenReturn(Map.of(101L, 10, 102L, 0));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/inventory/availability")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[101, 102]"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.101", is(10)))
+                .andExpect(jsonPath("$.102", is(0)));
+
+        verify(inventoryService, times(1)).getAvailableQuantities(List.of(101L, 102L));
+    }
+
     @Test
     void getLowStockItems_ShouldReturnItemsBelowThreshold() throws Exception {
         // Arrange
@@ -218,4 +411,62 @@ public class InventoryControllerTest {
 
         verify(inventoryService, times(1)).getLowStockItems(15);
     }
+
+    @Test
+    void getLowStockItems_WithFields_ShouldReturnOnlySelectedFields() throws Exception {
+        // Arrange
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("id", 1L);
+        fields.put("productCode", "PROD-001");
+        fields.put("quantity", 10);
+        when(inventoryService.getLowStockItemFields(15, List.of("productCode", "quantity")))
+                .thenReturn(List.of(new PartialInventoryItem(1L, 2L, fields)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/inventory/low-stock?threshold=15&fields=productCode,quantity"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].productCode", is("PROD-001")))
+                .andExpect(jsonPath("$[0].quantity", is(10)))
+                .andExpect(jsonPath("$[0].warehouseLocation").doesNotExist())
+                .andExpect(jsonPath("$[0].version").doesNotExist());
+
+        verify(inventoryService, never()).getLowStockItems(any());
+    }
+
+    @Test
+    void getAllInventoryItems_WithUnknownField_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(inventoryService.getInventoryItemFieldsAfter(null, 50, List.of("secret")))
+                .thenThrow(new InvalidFieldsException("Unknown fields: secret"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/inventory?fields=secret"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamLowStockCrossings_ShouldSubscribeWithThreshold() throws Exception {
+        // Arrange
+        when(lowStockFeed.subscribe(3)).thenReturn(new SseEmitter());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/inventory/low-stock/stream?threshold=3").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(lowStockFeed, times(1)).subscribe(3);
+        verify(inventoryService, never()).getLowStockItems(any());
+    }
+
+    @Test
+    void streamLowStockCrossings_WithTooManySubscribers_ShouldReturnServiceUnavailable() throws Exception {
+        // Arrange
+        when(lowStockFeed.subscribe(5)).thenThrow(new TooManySubscribersException("Too many subscribers"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/inventory/low-stock/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isServiceUnavailable());
+    }
 }
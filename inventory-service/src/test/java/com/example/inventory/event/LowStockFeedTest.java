@@ -0,0 +1,151 @@
+package com.example.inventory.event;
+
+import com.example.inventory.dto.LowStockCrossing;
+import com.example.inventory.exception.TooManySubscribersException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LowStockFeed.
+ * This class demonstrates:
+ * - Testing Server-Sent Events producers without an HTTP connection
+ * - Controlling asynchronous delivery with a hand-driven executor
+ */
+public class LowStockFeedTest {
+
+    private final List<Runnable> pendingDrains = new ArrayList<>();
+    private final Executor manualExecutor = pendingDrains::add;
+
+    private LowStockFeed lowStockFeed;
+
+    @BeforeEach
+    void setUp() {
+        lowStockFeed = new LowStockFeed(manualExecutor, 2, 2, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void onStockLevelChanged_ShouldNotifyOnlySubscribersWhoseThresholdWasCrossed() {
+        // Arrange
+        RecordingEmitter atFive = new RecordingEmitter();
+        RecordingEmitter atTwenty = new RecordingEmitter();
+        lowStockFeed.register(5, atFive);
+        lowStockFeed.register(20, atTwenty);
+
+        // Act
+        lowStockFeed.onStockLevelChanged(new StockLevelChangedEvent("PROD-001", 12, 4));
+        runPendingDrains();
+
+        // Assert
+        assertEquals(List.of(LowStockFeed.CROSSING_EVENT), atFive.eventNames);
+        LowStockCrossing crossing = atFive.crossings.get(0);
+        assertEquals("PROD-001", crossing.getProductCode());
+        assertEquals(LowStockCrossing.Direction.BELOW_THRESHOLD, crossing.getDirection());
+        assertEquals(5, crossing.getThreshold());
+        assertEquals(4, crossing.getQuantity());
+        assertTrue(atTwenty.eventNames.isEmpty());
+    }
+
+    @Test
+    void onStockLevelChanged_WhenQuantityRisesToThreshold_ShouldReportRestocked() {
+        // Arrange
+        RecordingEmitter emitter = new RecordingEmitter();
+        lowStockFeed.register(5, emitter);
+
+        // Act
+        lowStockFeed.onStockLevelChanged(new StockLevelChangedEvent("PROD-001", 3, 5));
+        lowStockFeed.onStockLevelChanged(new StockLevelChangedEvent("PROD-001", 5, 9));
+        runPendingDrains();
+
+        // Assert
+        assertEquals(1, emitter.crossings.size());
+        assertEquals(LowStockCrossing.Direction.RESTOCKED, emitter.crossings.get(0).getDirection());
+    }
+
+    @Test
+    void onStockLevelChanged_WhenBufferOverflows_ShouldSendResyncInsteadOfBacklog() {
+        // Arrange
+        RecordingEmitter emitter = new RecordingEmitter();
+        lowStockFeed.register(5, emitter);
+
+        // Act: three crossings arrive before the subscriber's drain gets to run
+        lowStockFeed.onStockLevelChanged(new StockLevelChangedEvent("PROD-001", 10, 1));
+        lowStockFeed.onStockLevelChanged(new StockLevelChangedEvent("PROD-002", 10, 1));
+        lowStockFeed.onStockLevelChanged(new StockLevelChangedEvent("PROD-003", 10, 1));
+        runPendingDrains();
+
+        // Assert
+        assertEquals(List.of(LowStockFeed.RESYNC_EVENT), emitter.eventNames);
+    }
+
+    @Test
+    void register_AboveSubscriberLimit_ShouldThrowTooManySubscribersException() {
+        // Arrange
+        lowStockFeed.register(5, new RecordingEmitter());
+        lowStockFeed.register(5, new RecordingEmitter());
+
+        // Act & Assert
+        assertThrows(TooManySubscribersException.class, () -> lowStockFeed.register(5, new RecordingEmitter()));
+        assertEquals(2, lowStockFeed.subscriberCount());
+    }
+
+    @Test
+    void onStockLevelChanged_WhenSendFails_ShouldDropSubscriber() {
+        // Arrange
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failing = true;
+        lowStockFeed.register(5, emitter);
+
+        // Act
+        lowStockFeed.onStockLevelChanged(new StockLevelChangedEvent("PROD-001", 10, 1));
+        runPendingDrains();
+        lowStockFeed.onStockLevelChanged(new StockLevelChangedEvent("PROD-002", 10, 1));
+
+        // Assert
+        assertEquals(0, lowStockFeed.subscriberCount());
+        assertTrue(pendingDrains.isEmpty());
+    }
+
+    private void runPendingDrains() {
+        while (!pendingDrains.isEmpty()) {
+            pendingDrains.remove(0).run();
+        }
+    }
+
+    /**
+     * Emitter that records what is sent instead of writing to a response.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> eventNames = new ArrayList<>();
+        private final List<LowStockCrossing> crossings = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            builder.build().stream()
+                    .map(DataWithMediaType::getData)
+                    .filter(Objects::nonNull)
+                    .forEach(data -> {
+                        if (data instanceof LowStockCrossing crossing) {
+                            crossings.add(crossing);
+                        } else if (data.toString().startsWith("event:")) {
+                            String eventLine = data.toString().lines().findFirst().orElseThrow();
+                            eventNames.add(eventLine.substring("event:".length()));
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.inventory.repository;
+
+import com.example.inventory.dto.QuantityAdjustment;
+import com.example.inventory.model.InventoryItem;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the second-level and natural id caching of inventory items against a real database.
+ * This class demonstrates:
+ * - Integration testing with @SpringBootTest
+ * - Verifying cache behaviour with Hibernate statistics
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "product-service.stock-cache-invalidation.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class InventoryRepositoryCacheTest {
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        inventoryRepository.save(new InventoryItem(null, "CACHE-001", 10, "Warehouse A", 1L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        inventoryRepository.deleteAll();
+    }
+
+    @Test
+    void findByProductCode_WhenCached_ShouldNotRunAnyStatement() {
+        // Arrange: the first lookup fills the caches if saving did not already
+        inventoryRepository.findByProductCode("CACHE-001");
+        statistics.clear();
+
+        // Act
+        InventoryItem item = inventoryRepository.findByProductCode("CACHE-001").orElseThrow();
+
+        // Assert
+        assertEquals(10, item.getQuantity());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getNaturalIdCacheHitCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void adjustQuantities_ShouldEvictStaleItemsFromCache() {
+        // Arrange
+        inventoryRepository.findByProductCode("CACHE-001");
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                inventoryRepository.adjustQuantities(List.of(new QuantityAdjustment("CACHE-001", -3))));
+
+        // Assert
+        assertEquals(7, inventoryRepository.findByProductCode("CACHE-001").orElseThrow().getQuantity());
+    }
+
+    @Test
+    void adjustQuantity_ShouldNotLeaveStaleItemsInCache() {
+        // Arrange
+        inventoryRepository.findByProductCode("CACHE-001");
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                inventoryRepository.adjustQuantity("CACHE-001", 5));
+
+        // Assert
+        assertEquals(15, inventoryRepository.findByProductCode("CACHE-001").orElseThrow().getQuantity());
+    }
+}
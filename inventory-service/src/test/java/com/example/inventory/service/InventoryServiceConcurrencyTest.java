@@ -0,0 +1,113 @@
+package com.example.inventory.service;
+
+import com.example.inventory.exception.InsufficientStockException;
+import com.example.inventory.model.InventoryItem;
+import com.example.inventory.repository.InventoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency tests for InventoryService quantity updates against a real database.
+ * This class demonstrates:
+ * - Integration testing with @SpringBootTest
+ * - Multithreaded tests proving that no updates are lost
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "product-service.stock-cache-invalidation.enabled=false")
+public class InventoryServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int UPDATES_PER_THREAD = 50;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @AfterEach
+    void tearDown() {
+        inventoryRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentIncrements_ShouldNotLoseUpdates() throws Exception {
+        // Arrange
+        inventoryRepository.save(new InventoryItem(null, "CONC-001", 0, "Warehouse A", 1L));
+
+        // Act
+        runConcurrently(() -> inventoryService.updateInventoryQuantity("CONC-001", 1));
+
+        // Assert
+        int expected = THREADS * UPDATES_PER_THREAD;
+        assertEquals(expected, inventoryService.getInventoryItemByProductCode("CONC-001").getQuantity());
+    }
+
+    @Test
+    void concurrentDecrements_ShouldNeverOvershoot() throws Exception {
+        // Arrange: fewer units in stock than orders
+        int stock = THREADS * UPDATES_PER_THREAD / 2;
+        inventoryRepository.save(new InventoryItem(null, "CONC-002", stock, "Warehouse A", 2L));
+        AtomicInteger rejected = new AtomicInteger();
+
+        // Act
+        int succeeded = runConcurrently(() -> {
+            try {
+                inventoryService.adjustInventoryQuantity("CONC-002", -1);
+            } catch (InsufficientStockException e) {
+                rejected.incrementAndGet();
+                throw e;
+            }
+        });
+
+        // Assert
+        assertEquals(stock, succeeded);
+        assertEquals(THREADS * UPDATES_PER_THREAD - stock, rejected.get());
+        assertEquals(0, inventoryService.getInventoryItemByProductCode("CONC-002").getQuantity());
+    }
+
+    /**
+     * Run the update from all threads at once and return how many calls succeeded.
+     */
+    private int runConcurrently(Runnable update) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                        try {
+                            update.run();
+                            succeeded.incrementAndGet();
+                        } catch (InsufficientStockException e) {
+                            // expected once stock runs out
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return succeeded.get();
+    }
+}
@@ -1,5 +1,17 @@
 package com.example.inventory.service;
 
+import com.example.inventory.cache.StockLevelTable;
+import com.example.inventory.dto.BatchAdjustmentMode;
+import com.example.inventory.dto.BatchAdjustmentResult;
+import com.example.inventory.dto.PartialInventoryItem;
+import com.example.inventory.dto.QuantityAdjustment;
+import com.example.inventory.dto.QuantityAdjustmentOutcome;
+import com.example.inventory.dto.StockCheckRequest;
+import com.example.inventory.event.InventoryChangedEvent;
+import com.example.inventory.event.StockLevelChangedEvent;
+import com.example.inventory.exception.BatchAdjustmentRejectedException;
+import com.example.inventory.exception.InsufficientStockException;
+import com.example.inventory.exception.InvalidFieldsException;
 import com.example.inventory.exception.ResourceNotFoundException;
 import com.example.inventory.model.InventoryItem;
 import com.example.inventory.repository.InventoryRepository;
@@ -9,14 +21,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -32,6 +52,12 @@ public class InventoryServiceTest {
     @Mock
     private InventoryRepository inventoryRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StockLevelTable stockLevelTable;
+
     @InjectMocks
     private InventoryService inventoryService;
 
@@ -60,6 +86,21 @@ public class InventoryServiceTest {
         verify(inventoryRepository, times(1)).findAll();
     }
 
+    @Test
+    void getInventoryItemsAfter_ShouldSeekPastCursor() {
+        // Arrange
+        when(inventoryRepository.findByIdGreaterThanOrderByIdAsc(1L, PageRequest.of(0, 10)))
+                .thenReturn(Arrays.asList(item2));
+
+        // Act
+        List<InventoryItem> result = inventoryService.getInventoryItemsAfter(1L, 10);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("PROD-002", result.get(0).getProductCode());
+        verify(inventoryRepository, times(1)).findByIdGreaterThanOrderByIdAsc(1L, PageRequest.of(0, 10));
+    }
+
     @Test
     void getInventoryItemById_WithValidId_ShouldReturnItem() {
         // Arrange
@@ -135,9 +176,10 @@ public class InventoryServiceTest {
     void updateInventoryItem_WithValidId_ShouldReturnUpdatedItem() {
         // Arrange
         InventoryItem updatedDetails = new InventoryItem(1L, "PROD-001-UPDATED", 15, "Warehouse D", 101L);
+        updatedDetails.setVersion(1L);
         
         when(inventoryRepository.findById(1L)).thenReturn(Optional.of(item1));
-        when(inventoryRepository.save(any(InventoryItem.class))).thenReturn(updatedDetails);
+        when(inventoryRepository.saveAndFlush(any(InventoryItem.class))).thenReturn(updatedDetails);
 
         // Act
         InventoryItem result = inventoryService.updateInventoryItem(1L, updatedDetails);
@@ -148,7 +190,29 @@ public class InventoryServiceTest {
         assertEquals(15, result.getQuantity());
         assertEquals("Warehouse D", result.getWarehouseLocation());
         verify(inventoryRepository, times(1)).findById(1L);
-        verify(inventoryRepository, times(1)).save(any(InventoryItem.class));
+        verify(inventoryRepository, times(1)).saveAndFlush(any(InventoryItem.class));
+        verify(eventPublisher, times(1)).publishEvent(InventoryChangedEvent.removed("PROD-001", 1L, 1L));
+        verify(eventPublisher, times(1)).publishEvent(InventoryChangedEvent.set(updatedDetails));
+        verify(eventPublisher, times(1)).publishEvent(new StockLevelChangedEvent("PROD-001", 10, 0));
+        verify(eventPublisher, never()).publishEvent(new StockLevelChangedEvent("PROD-001-UPDATED", 10, 15));
+    }
+
+    @Test
+    void updateInventoryItem_WithSameProductCode_ShouldPublishLevelChange() {
+        // Arrange
+        InventoryItem updatedDetails = new InventoryItem(1L, "PROD-001", 4, "Warehouse A", 101L);
+        updatedDetails.setVersion(1L);
+
+        when(inventoryRepository.findById(1L)).thenReturn(Optional.of(item1));
+        when(inventoryRepository.saveAndFlush(any(InventoryItem.class))).thenReturn(updatedDetails);
+
+        // Act
+        inventoryService.updateInventoryItem(1L, updatedDetails);
+
+        // Assert
+        verify(eventPublisher, times(1)).publishEvent(InventoryChangedEvent.set(updatedDetails));
+        verify(eventPublisher, times(1)).publishEvent(new StockLevelChangedEvent("PROD-001", 10, 4));
+        verify(eventPublisher, never()).publishEvent(InventoryChangedEvent.removed("PROD-001", 1L, 1L));
     }
 
     @Test
@@ -163,15 +227,16 @@ public class InventoryServiceTest {
         // Assert
         verify(inventoryRepository, times(1)).findById(1L);
         verify(inventoryRepository, times(1)).delete(item1);
+        verify(eventPublisher, times(1)).publishEvent(InventoryChangedEvent.removed("PROD-001", 1L, null));
     }
 
     @Test
     void updateInventoryQuantity_WithValidData_ShouldUpdateQuantity() {
         // Arrange
-        when(inventoryRepository.findByProductCode("PROD-001")).thenReturn(Optional.of(item1));
-        
         InventoryItem updatedItem = new InventoryItem(1L, "PROD-001", 15, "Warehouse A", 101L);
-        when(inventoryRepository.save(any(InventoryItem.class))).thenReturn(updatedItem);
+        updatedItem.setVersion(1L);
+        when(inventoryRepository.adjustQuantity("PROD-001", 5)).thenReturn(1);
+        when(inventoryRepository.findByProductCode("PROD-001")).thenReturn(Optional.of(updatedItem));
 
         // Act
         InventoryItem result = inventoryService.updateInventoryQuantity("PROD-001", 5);
@@ -179,21 +244,127 @@ public class InventoryServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(15, result.getQuantity());
-        verify(inventoryRepository, times(1)).findByProductCode("PROD-001");
-        verify(inventoryRepository, times(1)).save(any(InventoryItem.class));
+        verify(inventoryRepository, times(1)).adjustQuantity("PROD-001", 5);
+        verify(inventoryRepository, never()).save(any(InventoryItem.class));
+        verify(eventPublisher, times(1)).publishEvent(InventoryChangedEvent.adjusted("PROD-001", 1L, 1L, 15));
+        verify(eventPublisher, times(1)).publishEvent(new StockLevelChangedEvent("PROD-001", 10, 15));
     }
 
     @Test
     void updateInventoryQuantity_WithNegativeResult_ShouldThrowException() {
         // Arrange
-        when(inventoryRepository.findByProductCode("PROD-001")).thenReturn(Optional.of(item1));
+        when(inventoryRepository.adjustQuantity("PROD-001", -15)).thenReturn(0);
+        when(inventoryRepository.existsByProductCode("PROD-001")).thenReturn(true);
 
         // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> {
+        assertThrows(InsufficientStockException.class, () -> {
             inventoryService.updateInventoryQuantity("PROD-001", -15);
         });
-        verify(inventoryRepository, times(1)).findByProductCode("PROD-001");
+        verify(inventoryRepository, times(1)).adjustQuantity("PROD-001", -15);
         verify(inventoryRepository, never()).save(any(InventoryItem.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void adjustInventoryQuantity_WithUnknownProduct_ShouldThrowException() {
+        // Arrange
+        when(inventoryRepository.adjustQuantity("NON-EXISTENT", 1)).thenReturn(0);
+        when(inventoryRepository.existsByProductCode("NON-EXISTENT")).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> {
+            inventoryService.adjustInventoryQuantity("NON-EXISTENT", 1);
+        });
+        verify(inventoryRepository, never()).findByProductCode(anyString());
+    }
+
+    @Test
+    void adjustInventoryQuantities_WhenAllLinesApply_ShouldCommitAndPublishEvents() {
+        // Arrange
+        List<QuantityAdjustment> adjustments = Arrays.asList(
+                new QuantityAdjustment("PROD-001", 5), new QuantityAdjustment("PROD-002", -3));
+        when(inventoryRepository.adjustQuantities(adjustments)).thenReturn(new int[]{1, 1});
+        when(inventoryRepository.findStockLevels(any())).thenReturn(List.of(
+                new Object[]{"PROD-001", 1L, 1L, 15}, new Object[]{"PROD-002", 2L, 1L, 17}));
+
+        // Act
+        BatchAdjustmentResult result = inventoryService.adjustInventoryQuantities(adjustments, BatchAdjustmentMode.ALL_OR_NOTHING);
+
+        // Assert
+        assertTrue(result.isCommitted());
+        assertEquals(2, result.getApplied());
+        assertEquals(QuantityAdjustmentOutcome.Status.APPLIED, result.getLines().get(1).getStatus());
+        verify(inventoryRepository, times(1)).adjustQuantities(adjustments);
+        verify(inventoryRepository, never()).adjustQuantity(anyString(), anyInt());
+        verify(inventoryRepository, times(1)).findStockLevels(Set.of("PROD-001", "PROD-002"));
+        verify(eventPublisher, times(1)).publishEvent(InventoryChangedEvent.adjusted("PROD-001", 1L, 1L, 15));
+        verify(eventPublisher, times(1)).publishEvent(InventoryChangedEvent.adjusted("PROD-002", 2L, 1L, 17));
+    }
+
+    @Test
+    void adjustInventoryQuantities_AllOrNothing_WithFailingLine_ShouldRejectWholeBatch() {
+        // Arrange
+        List<QuantityAdjustment> adjustments = Arrays.asList(
+                new QuantityAdjustment("PROD-001", 5),
+                new QuantityAdjustment("PROD-002", -50),
+                new QuantityAdjustment("NON-EXISTENT", 1));
+        when(inventoryRepository.adjustQuantities(adjustments)).thenReturn(new int[]{1, 0, 0});
+        when(inventoryRepository.findExistingProductCodes(any())).thenReturn(List.of("PROD-002"));
+
+        // Act
+        BatchAdjustmentRejectedException exception = assertThrows(BatchAdjustmentRejectedException.class, () ->
+                inventoryService.adjustInventoryQuantities(adjustments, BatchAdjustmentMode.ALL_OR_NOTHING));
+
+        // Assert
+        BatchAdjustmentResult result = exception.getResult();
+        assertFalse(result.isCommitted());
+        assertEquals(0, result.getApplied());
+        assertEquals(QuantityAdjustmentOutcome.Status.NOT_APPLIED, result.getLines().get(0).getStatus());
+        assertEquals(QuantityAdjustmentOutcome.Status.INSUFFICIENT_STOCK, result.getLines().get(1).getStatus());
+        assertEquals(QuantityAdjustmentOutcome.Status.NOT_FOUND, result.getLines().get(2).getStatus());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void adjustInventoryQuantities_AllOrNothing_WithInvalidLine_ShouldNotTouchDatabase() {
+        // Arrange
+        List<QuantityAdjustment> adjustments = Arrays.asList(
+                new QuantityAdjustment("PROD-001", 5), new QuantityAdjustment("PROD-002", null));
+
+        // Act
+        BatchAdjustmentRejectedException exception = assertThrows(BatchAdjustmentRejectedException.class, () ->
+                inventoryService.adjustInventoryQuantities(adjustments, BatchAdjustmentMode.ALL_OR_NOTHING));
+
+        // Assert
+        assertEquals(QuantityAdjustmentOutcome.Status.NOT_APPLIED, exception.getResult().getLines().get(0).getStatus());
+        assertEquals(QuantityAdjustmentOutcome.Status.INVALID, exception.getResult().getLines().get(1).getStatus());
+        verify(inventoryRepository, never()).adjustQuantities(any());
+    }
+
+    @Test
+    void adjustInventoryQuantities_BestEffort_ShouldCommitLinesThatApply() {
+        // Arrange
+        List<QuantityAdjustment> adjustments = Arrays.asList(
+                new QuantityAdjustment("PROD-001", 5),
+                new QuantityAdjustment(null, 1),
+                new QuantityAdjustment("PROD-002", -50));
+        List<QuantityAdjustment> validAdjustments = Arrays.asList(adjustments.get(0), adjustments.get(2));
+        when(inventoryRepository.adjustQuantities(validAdjustments)).thenReturn(new int[]{1, 0});
+        when(inventoryRepository.findExistingProductCodes(any())).thenReturn(List.of("PROD-002"));
+        when(inventoryRepository.findStockLevels(Set.of("PROD-001")))
+                .thenReturn(List.<Object[]>of(new Object[]{"PROD-001", 1L, 1L, 15}));
+
+        // Act
+        BatchAdjustmentResult result = inventoryService.adjustInventoryQuantities(adjustments, BatchAdjustmentMode.BEST_EFFORT);
+
+        // Assert
+        assertTrue(result.isCommitted());
+        assertEquals(1, result.getApplied());
+        assertEquals(QuantityAdjustmentOutcome.Status.APPLIED, result.getLines().get(0).getStatus());
+        assertEquals(QuantityAdjustmentOutcome.Status.INVALID, result.getLines().get(1).getStatus());
+        assertEquals(QuantityAdjustmentOutcome.Status.INSUFFICIENT_STOCK, result.getLines().get(2).getStatus());
+        verify(eventPublisher, times(1)).publishEvent(InventoryChangedEvent.adjusted("PROD-001", 1L, 1L, 15));
+        verify(eventPublisher, times(1)).publishEvent(any(InventoryChangedEvent.class));
     }
 
     @Test
@@ -235,6 +406,72 @@ public class InventoryServiceTest {
         verify(inventoryRepository, times(1)).findByProductCode("NON-EXISTENT");
     }
 
+    @Test
+    void checkStock_ShouldResolveAllCodesWithOneQuery() {
+        // Arrange
+        when(inventoryRepository.findByProductCodeIn(anyCollection())).thenReturn(Arrays.asList(item1, item2));
+
+        // Act
+        Map<String, Boolean> result = inventoryService.checkStock(Arrays.asList(
+                new StockCheckRequest("PROD-001", 5),
+                new StockCheckRequest("PROD-002", 25),
+                new StockCheckRequest("NON-EXISTENT", 1)));
+
+        // Assert
+        assertEquals(3, result.size());
+        assertTrue(result.get("PROD-001"));
+        assertFalse(result.get("PROD-002"));
+        assertFalse(result.get("NON-EXISTENT"));
+        verify(inventoryRepository, times(1)).findByProductCodeIn(anyCollection());
+        verify(inventoryRepository, never()).findByProductCode(anyString());
+    }
+
+    @Test
+    void checkStock_WithRepeatedCode_ShouldAddUpQuantities() {
+        // Arrange
+        when(inventoryRepository.findByProductCodeIn(anyCollection())).thenReturn(Arrays.asList(item1));
+
+        // Act
+        Map<String, Boolean> result = inventoryService.checkStock(Arrays.asList(
+                new StockCheckRequest("PROD-001", 6),
+                new StockCheckRequest("PROD-001", 6)));
+
+        // Assert
+        assertEquals(1, result.size());
+        assertFalse(result.get("PROD-001"));
+    }
+
+    @Test
+    void getAvailableQuantities_ShouldSumPerProductWithOneQuery() {
+        // Arrange
+        List<Object[]> rows = List.of(new Object[]{101L, 25L}, new Object[]{102L, 0L});
+        when(inventoryRepository.sumQuantitiesByProductIdIn(anyCollection())).thenReturn(rows);
+
+        // Act
+        Map<Long, Integer> result = inventoryService.getAvailableQuantities(Arrays.asList(101L, 102L, 103L));
+
+        // Assert
+        assertEquals(List.of(101L, 102L, 103L), List.copyOf(result.keySet()));
+        assertEquals(25, result.get(101L));
+        assertEquals(0, result.get(102L));
+        assertEquals(0, result.get(103L));
+        verify(inventoryRepository, times(1)).sumQuantitiesByProductIdIn(anyCollection());
+    }
+
+    @Test
+    void isInStock_WithStockLevelTableReady_ShouldNotQueryDatabase() {
+        // Arrange
+        when(stockLevelTable.isReady()).thenReturn(true);
+        when(stockLevelTable.isInStock("PROD-001", 5)).thenReturn(true);
+
+        // Act
+        boolean result = inventoryService.isInStock("PROD-001", 5);
+
+        // Assert
+        assertTrue(result);
+        verify(inventoryRepository, never()).findByProductCode(anyString());
+    }
+
     @Test
     void getLowStockItems_ShouldReturnItemsBelowThreshold() {
         // Arrange
@@ -248,4 +485,32 @@ public class InventoryServiceTest {
         assertEquals("PROD-001", result.get(0).getProductCode());
         verify(inventoryRepository, times(1)).findByQuantityLessThan(15);
     }
+
+    @Test
+    void getLowStockItemFields_ShouldSelectRequestedFieldsWithIdAndVersion() {
+        // Arrange
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1L);
+        row.put("quantity", 10);
+        row.put("version", 4L);
+        when(inventoryRepository.findAttributes(eq(List.of("id", "quantity", "version")), any(),
+                eq(Sort.unsorted()), eq(0))).thenReturn(List.of(row));
+
+        // Act
+        List<PartialInventoryItem> result = inventoryService.getLowStockItemFields(15, List.of("quantity"));
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(4L, result.get(0).getVersion());
+        assertEquals(Map.of("id", 1L, "quantity", 10), result.get(0).getFields());
+        verify(inventoryRepository, never()).findByQuantityLessThan(any());
+    }
+
+    @Test
+    void getAllInventoryItemFields_WithUnknownField_ShouldThrowInvalidFieldsException() {
+        // Act & Assert
+        assertThrows(InvalidFieldsException.class,
+                () -> inventoryService.getAllInventoryItemFields(List.of("productCode", "secret")));
+        verify(inventoryRepository, never()).findAttributes(any(), any(), any(), anyInt());
+    }
 }
@@ -3,6 +3,7 @@ package com.example.joblearning;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.ConfigurableApplicationContext;
 
 /**
  * Main Spring Boot application class.
@@ -16,7 +17,16 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
 @EnableFeignClients
 public class JobLearningApplication {
 
+    /**
+     * System property that makes the application exit as soon as it has started; set by the training
+     * run of the fast-start build, whose class-data sharing archive is written when the JVM exits.
+     */
+    static final String EXIT_AFTER_STARTUP = "fast-start.exit-after-startup";
+
     public static void main(String[] args) {
-        SpringApplication.run(JobLearningApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(JobLearningApplication.class, args);
+        if (Boolean.getBoolean(EXIT_AFTER_STARTUP)) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
@@ -0,0 +1,162 @@
+package com.example.joblearning.cache;
+
+import com.example.joblearning.client.StockAnswer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of stock availability answers from the inventory service.
+ * This class demonstrates:
+ * - Near-caching of remote calls with Caffeine
+ * - Time-to-live and size-based eviction
+ * - Invalidation pushed from another microservice
+ *
+ * Every (product code, quantity) answer is one cache entry, so maximum-size bounds the number of
+ * answers held, however many quantities are asked for. A secondary index from product code to its
+ * cached quantities lets an invalidation drop every answer for a code without scanning the cache;
+ * entries that Caffeine evicts are removed from the index as well.
+ */
+@Component
+public class StockAvailabilityCache {
+
+    private final Cache<StockKey, Boolean> cache;
+    private final ConcurrentMap<String, Set<Integer>> quantitiesByCode = new ConcurrentHashMap<>();
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public StockAvailabilityCache(
+            @Value("${stock-cache.ttl:5s}") Duration ttl,
+            @Value("${stock-cache.maximum-size:10000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .evictionListener((StockKey key, Boolean inStock, RemovalCause cause) -> unindex(key))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Return the cached answer for the product code and quantity, calling the loader on a miss.
+     * Nothing is cached when the loader throws or serves a last-known (degraded) answer, so an
+     * outage of the inventory service does not pin its fallback answers for the whole TTL.
+     * A result that arrives after an invalidation was started is not kept, since it may predate
+     * the stock change that the invalidation reports.
+     */
+    public boolean get(String productCode, int quantity, Supplier<StockAnswer> loader) {
+        StockKey key = new StockKey(productCode, quantity);
+        Boolean cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long epoch = invalidationEpoch.get();
+        StockAnswer answer = loader.get();
+        if (!answer.fromLastKnown()) {
+            put(key, answer.inStock(), epoch);
+        }
+        return answer.inStock();
+    }
+
+    /**
+     * Asynchronous variant of {@link #get}: answers a hit right away and caches the result
+     * of the loader once it completes. Nothing is cached when the loader fails or serves a
+     * last-known answer.
+     */
+    public CompletableFuture<Boolean> getAsync(String productCode, int quantity,
+                                               Supplier<CompletableFuture<StockAnswer>> loader) {
+        StockKey key = new StockKey(productCode, quantity);
+        Boolean cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        misses.increment();
+        long epoch = invalidationEpoch.get();
+        return loader.get().thenApply(answer -> {
+            if (!answer.fromLastKnown()) {
+                put(key, answer.inStock(), epoch);
+            }
+            return answer.inStock();
+        });
+    }
+
+    /**
+     * Drop every cached answer for the given product codes.
+     */
+    public void invalidate(Collection<String> productCodes) {
+        invalidationEpoch.incrementAndGet();
+        for (String productCode : productCodes) {
+            Set<Integer> quantities = quantitiesByCode.remove(productCode);
+            if (quantities != null) {
+                for (Integer quantity : quantities) {
+                    cache.invalidate(new StockKey(productCode, quantity));
+                }
+            }
+        }
+        invalidations.add(productCodes.size());
+    }
+
+    /**
+     * Cache an answer loaded when the invalidation epoch was the given one. The entry is indexed
+     * after it is written; if an invalidation has started since the load began, it is dropped again,
+     * because that invalidation may have run before the entry could be found through the index.
+     */
+    private void put(StockKey key, boolean inStock, long epoch) {
+        if (invalidationEpoch.get() != epoch) {
+            return;
+        }
+        cache.put(key, inStock);
+        quantitiesByCode.computeIfAbsent(key.productCode(), code -> ConcurrentHashMap.newKeySet()).add(key.quantity());
+        if (invalidationEpoch.get() != epoch) {
+            cache.invalidate(key);
+        }
+    }
+
+    private void unindex(StockKey key) {
+        quantitiesByCode.computeIfPresent(key.productCode(), (code, quantities) -> {
+            quantities.remove(key.quantity());
+            return quantities.isEmpty() ? null : quantities;
+        });
+    }
+
+    /**
+     * Current hit/miss/eviction counters.
+     */
+    public StockCacheStats stats() {
+        // Apply pending evictions first, so the size never reads above maximum-size
+        cache.cleanUp();
+        return new StockCacheStats(
+                hits.sum(),
+                misses.sum(),
+                cache.stats().evictionCount(),
+                invalidations.sum(),
+                cache.estimatedSize());
+    }
+
+    private record StockKey(String productCode, int quantity) {
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     */
+    public record StockCacheStats(long hits, long misses, long evictions, long invalidations, long size) {
+    }
+}
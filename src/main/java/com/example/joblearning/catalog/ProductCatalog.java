@@ -0,0 +1,196 @@
+package com.example.joblearning.catalog;
+
+import com.example.joblearning.event.ProductChangedEvent;
+import com.example.joblearning.model.Product;
+import com.example.joblearning.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional read-optimized copy of the product catalog, for filtering by category and price.
+ * This class demonstrates:
+ * - A column-oriented read model next to the entity model (see {@link ProductCatalogSnapshot})
+ * - Copy-on-write publication through a volatile reference, so reads never lock
+ * - Coalescing change events into periodic batch refreshes
+ *
+ * The catalog is loaded in the background once the application is up; until then, and whenever it
+ * is disabled, the filtering queries go to the database. Every committed product change marks the
+ * product as pending; a single refresh thread waits for the refresh delay, so that a burst of
+ * changes (such as a bulk import) is applied at once, reloads the pending products by id and merges
+ * them into a new snapshot. Reads therefore lag behind writes by about the refresh delay.
+ *
+ * Scans of catalogs with at least the parallel scan threshold of products are split into chunks
+ * that run on the common fork-join pool.
+ */
+@Component
+public class ProductCatalog {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final int parallelScanThreshold;
+    private final Duration refreshDelay;
+    private final ScheduledExecutorService refresher;
+    private final Set<Long> pendingIds = new HashSet<>();
+    private boolean refreshScheduled;
+    private volatile ProductCatalogSnapshot snapshot;
+
+    @Autowired
+    public ProductCatalog(ProductRepository productRepository,
+                          @Value("${product-catalog.enabled:false}") boolean enabled,
+                          @Value("${product-catalog.parallel-scan-threshold:200000}") int parallelScanThreshold,
+                          @Value("${product-catalog.refresh-delay:200ms}") Duration refreshDelay) {
+        this(productRepository, enabled, parallelScanThreshold, refreshDelay,
+                Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "product-catalog-refresher");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    ProductCatalog(ProductRepository productRepository, boolean enabled, int parallelScanThreshold,
+                   Duration refreshDelay, ScheduledExecutorService refresher) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+        this.parallelScanThreshold = parallelScanThreshold;
+        this.refreshDelay = refreshDelay;
+        this.refresher = refresher;
+    }
+
+    /**
+     * Load the catalog in the background once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLoading() {
+        if (enabled) {
+            refresher.execute(this::load);
+        }
+    }
+
+    /**
+     * Copy all products from the database, one keyset page at a time, then apply the changes
+     * committed in the meantime.
+     */
+    public void load() {
+        ProductCatalogSnapshot.Builder builder = new ProductCatalogSnapshot.Builder();
+        long lastId = 0L;
+        List<Product> page;
+        do {
+            page = productRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (Product product : page) {
+                builder.add(product);
+                lastId = product.getId();
+            }
+        } while (page.size() == LOAD_BATCH_SIZE);
+
+        snapshot = builder.build();
+        refresh();
+    }
+
+    /**
+     * Whether filtering queries can be answered from the catalog.
+     */
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * Number of products in the catalog.
+     */
+    public int size() {
+        ProductCatalogSnapshot current = snapshot;
+        return current != null ? current.size() : 0;
+    }
+
+    /**
+     * Find products by category, in id order.
+     */
+    public List<Product> findByCategory(String category) {
+        ProductCatalogSnapshot current = snapshot;
+        return current.products(current.findByCategory(category, isParallel(current)));
+    }
+
+    /**
+     * Find products with a price below the given one, in id order.
+     */
+    public List<Product> findByPriceLessThan(double price) {
+        ProductCatalogSnapshot current = snapshot;
+        return current.products(current.findByPriceLessThan(price, isParallel(current)));
+    }
+
+    /**
+     * Remember a committed product change; it is applied by the next refresh.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        pendingIds.add(event.productId());
+        scheduleRefresh();
+    }
+
+    /**
+     * Reload the pending products and swap in a snapshot that contains them.
+     * Pending products that no longer exist are removed. When the database cannot be reached,
+     * the products stay pending and the refresh is retried after the refresh delay.
+     */
+    public void refresh() {
+        List<Long> ids;
+        synchronized (this) {
+            refreshScheduled = false;
+            if (pendingIds.isEmpty() || snapshot == null) {
+                return;
+            }
+            ids = new ArrayList<>(pendingIds);
+            pendingIds.clear();
+        }
+
+        List<Product> saved;
+        try {
+            saved = productRepository.findAllById(ids);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingIds.addAll(ids);
+                scheduleRefresh();
+            }
+            return;
+        }
+        Set<Long> removed = new HashSet<>(ids);
+        saved.forEach(product -> removed.remove(product.getId()));
+        snapshot = snapshot.withChanges(saved, removed);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private void scheduleRefresh() {
+        // Before the first load has finished, load() applies the pending changes itself
+        if (snapshot != null && !refreshScheduled) {
+            refreshScheduled = true;
+            refresher.schedule(this::refresh, refreshDelay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private boolean isParallel(ProductCatalogSnapshot current) {
+        return current.size() >= parallelScanThreshold;
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.joblearning.catalog;
+
+import com.example.joblearning.model.Product;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable, column-oriented copy of the product catalog.
+ * This class demonstrates:
+ * - Columnar storage: one primitive array per filtered field instead of one object per product
+ * - Dictionary encoding of a low-cardinality string column (category -> int code)
+ * - Allocation-light scans, split into chunks that can run in parallel
+ * - Copy-on-write updates: a change produces a new snapshot, readers keep the one they started with
+ *
+ * Row i of every column belongs to the same product, and rows are ordered by id. Filters compare
+ * primitives only (an int category code, a double price), and collect matching row numbers into an
+ * int[]; a Product is created only for each row that is returned.
+ */
+final class ProductCatalogSnapshot {
+
+    static final int NO_CATEGORY = -1;
+    static final int NO_STOCK = Integer.MIN_VALUE;
+    static final long NO_VERSION = Long.MIN_VALUE;
+
+    /**
+     * Rows scanned by one task when a scan runs in parallel.
+     */
+    static final int CHUNK_SIZE = 1 << 16;
+
+    private static final int[] NO_ROWS = new int[0];
+
+    private final int size;
+    private final long[] ids;
+    private final long[] versions;
+    private final String[] names;
+    private final String[] descriptions;
+    private final double[] prices;
+    private final int[] categoryCodes;
+    private final int[] stockQuantities;
+    private final Instant[] lastModified;
+    private final List<String> dictionary;
+    private final Map<String, Integer> codes;
+
+    private ProductCatalogSnapshot(Builder builder) {
+        this.size = builder.size;
+        this.ids = builder.ids;
+        this.versions = builder.versions;
+        this.names = builder.names;
+        this.descriptions = builder.descriptions;
+        this.prices = builder.prices;
+        this.categoryCodes = builder.categoryCodes;
+        this.stockQuantities = builder.stockQuantities;
+        this.lastModified = builder.lastModified;
+        this.dictionary = List.copyOf(builder.dictionary);
+        this.codes = Map.copyOf(builder.codes);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Number of distinct categories in the dictionary.
+     */
+    int categoryCount() {
+        return dictionary.size();
+    }
+
+    /**
+     * Rows of the products in the given category, in id order.
+     */
+    int[] findByCategory(String category, boolean parallel) {
+        Integer code = category != null ? codes.get(category) : null;
+        if (code == null) {
+            return NO_ROWS;
+        }
+        int wanted = code;
+        int[] column = categoryCodes;
+        return scan(row -> column[row] == wanted, parallel);
+    }
+
+    /**
+     * Rows of the products with a price below the given one, in id order.
+     */
+    int[] findByPriceLessThan(double max, boolean parallel) {
+        double[] column = prices;
+        return scan(row -> column[row] < max, parallel);
+    }
+
+    /**
+     * Create the products of the given rows.
+     */
+    List<Product> products(int[] rows) {
+        List<Product> products = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            products.add(product(row));
+        }
+        return products;
+    }
+
+    Product product(int row) {
+        int code = categoryCodes[row];
+        return new Product(
+                ids[row],
+                names[row],
+                descriptions[row],
+                Double.isNaN(prices[row]) ? null : prices[row],
+                code == NO_CATEGORY ? null : dictionary.get(code),
+                stockQuantities[row] == NO_STOCK ? null : stockQuantities[row],
+                versions[row] == NO_VERSION ? null : versions[row],
+                lastModified[row]);
+    }
+
+    /**
+     * A new snapshot with the given products added or replaced and the given ids removed.
+     * Both lists are merged into the id-ordered rows in one pass; this snapshot is left unchanged.
+     * Category codes stay the same, so rows that did not change are copied column by column.
+     */
+    ProductCatalogSnapshot withChanges(Collection<Product> saved, Collection<Long> removed) {
+        List<Product> changes = new ArrayList<>(saved);
+        changes.sort(Comparator.comparing(Product::getId));
+        long[] removedIds = removed.stream().mapToLong(Long::longValue).sorted().toArray();
+
+        Builder builder = new Builder(size + changes.size(), dictionary);
+        int change = 0;
+        int removal = 0;
+        for (int row = 0; row < size; row++) {
+            long id = ids[row];
+            while (change < changes.size() && changes.get(change).getId() < id) {
+                builder.add(changes.get(change++));
+            }
+            while (removal < removedIds.length && removedIds[removal] < id) {
+                removal++;
+            }
+            if (change < changes.size() && changes.get(change).getId() == id) {
+                builder.add(changes.get(change++));
+            } else if (removal == removedIds.length || removedIds[removal] != id) {
+                builder.copy(this, row);
+            }
+        }
+        while (change < changes.size()) {
+            builder.add(changes.get(change++));
+        }
+        return builder.build();
+    }
+
+    private int[] scan(IntPredicate matches, boolean parallel) {
+        if (!parallel || size <= CHUNK_SIZE) {
+            return scan(matches, 0, size);
+        }
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int[][] results = new int[chunks][];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> results[chunk] =
+                scan(matches, chunk * CHUNK_SIZE, Math.min(size, (chunk + 1) * CHUNK_SIZE)));
+
+        int total = 0;
+        for (int[] result : results) {
+            total += result.length;
+        }
+        int[] rows = new int[total];
+        int offset = 0;
+        for (int[] result : results) {
+            System.arraycopy(result, 0, rows, offset, result.length);
+            offset += result.length;
+        }
+        return rows;
+    }
+
+    private static int[] scan(IntPredicate matches, int from, int to) {
+        int[] rows = new int[16];
+        int count = 0;
+        for (int row = from; row < to; row++) {
+            if (matches.test(row)) {
+                if (count == rows.length) {
+                    rows = Arrays.copyOf(rows, count * 2);
+                }
+                rows[count++] = row;
+            }
+        }
+        return count == 0 ? NO_ROWS : Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Collects rows, in id order, into growable column arrays.
+     */
+    static final class Builder {
+
+        private long[] ids;
+        private long[] versions;
+        private String[] names;
+        private String[] descriptions;
+        private double[] prices;
+        private int[] categoryCodes;
+        private int[] stockQuantities;
+        private Instant[] lastModified;
+        private int size;
+        private final List<String> dictionary;
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        Builder() {
+            this(1024, List.of());
+        }
+
+        Builder(int capacity, List<String> dictionary) {
+            int initialCapacity = Math.max(capacity, 16);
+            this.ids = new long[initialCapacity];
+            this.versions = new long[initialCapacity];
+            this.names = new String[initialCapacity];
+            this.descriptions = new String[initialCapacity];
+            this.prices = new double[initialCapacity];
+            this.categoryCodes = new int[initialCapacity];
+            this.stockQuantities = new int[initialCapacity];
+            this.lastModified = new Instant[initialCapacity];
+            this.dictionary = new ArrayList<>(dictionary);
+            for (int code = 0; code < dictionary.size(); code++) {
+                codes.put(dictionary.get(code), code);
+            }
+        }
+
+        /**
+         * Append a product; products must be added in ascending id order.
+         */
+        Builder add(Product product) {
+            ensureCapacity();
+            ids[size] = product.getId();
+            versions[size] = product.getVersion() != null ? product.getVersion() : NO_VERSION;
+            names[size] = product.getName();
+            descriptions[size] = product.getDescription();
+            prices[size] = product.getPrice() != null ? product.getPrice() : Double.NaN;
+            categoryCodes[size] = encode(product.getCategory());
+            stockQuantities[size] = product.getStockQuantity() != null ? product.getStockQuantity() : NO_STOCK;
+            lastModified[size] = product.getLastModified();
+            size++;
+            return this;
+        }
+
+        /**
+         * Append a row of a snapshot built from the same dictionary.
+         */
+        void copy(ProductCatalogSnapshot snapshot, int row) {
+            ensureCapacity();
+            ids[size] = snapshot.ids[row];
+            versions[size] = snapshot.versions[row];
+            names[size] = snapshot.names[row];
+            descriptions[size] = snapshot.descriptions[row];
+            prices[size] = snapshot.prices[row];
+            categoryCodes[size] = snapshot.categoryCodes[row];
+            stockQuantities[size] = snapshot.stockQuantities[row];
+            lastModified[size] = snapshot.lastModified[row];
+            size++;
+        }
+
+        /**
+         * The snapshot of the rows added so far. The builder hands over its arrays and must not be used again.
+         */
+        ProductCatalogSnapshot build() {
+            if (size < ids.length) {
+                resize(size);
+            }
+            return new ProductCatalogSnapshot(this);
+        }
+
+        private int encode(String category) {
+            if (category == null) {
+                return NO_CATEGORY;
+            }
+            return codes.computeIfAbsent(category, c -> {
+                dictionary.add(c);
+                return dictionary.size() - 1;
+            });
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                resize(ids.length + (ids.length >> 1));
+            }
+        }
+
+        private void resize(int capacity) {
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            names = Arrays.copyOf(names, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+            stockQuantities = Arrays.copyOf(stockQuantities, capacity);
+            lastModified = Arrays.copyOf(lastModified, capacity);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.joblearning.client;
+
+import com.example.joblearning.config.InventoryClientConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Non-blocking variant of {@link ResilientInventoryClient}.
+ * This class demonstrates:
+ * - CompletableFuture-based asynchronous calls on top of a blocking Feign client
+ * - Bounding the degree of parallelism of each fan-out, and the work queued overall
+ * - Cancelling outstanding calls once a deadline has passed
+ *
+ * Calls run on the inventory client executor: a shared pool of pool-size threads with a queue of at
+ * most queue-capacity calls, where calls that do not fit fail right away instead of queueing without
+ * limit, or a virtual thread per call under the virtual-threads profile. A {@link FanOut}
+ * (one per request that checks many products) starts at most max-concurrency of its calls at a
+ * time and holds back the rest, so one large request cannot fill the pool on its own. Calls keep
+ * the circuit breaker, bulkhead and last-known fallback of ResilientInventoryClient.
+ */
+@Component
+public class AsyncInventoryClient {
+
+    private final ResilientInventoryClient inventoryClient;
+    private final ExecutorService executor;
+    private final int maxConcurrency;
+    private final Duration deadline;
+
+    @Autowired
+    public AsyncInventoryClient(ResilientInventoryClient inventoryClient,
+                                @Qualifier(InventoryClientConfig.INVENTORY_CLIENT_EXECUTOR) ExecutorService executor,
+                                @Value("${inventory-service.async.max-concurrency:16}") int maxConcurrency,
+                                @Value("${inventory-service.async.deadline:1500ms}") Duration deadline) {
+        this.inventoryClient = inventoryClient;
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Start a fan-out of stock checks, to be cancelled once the caller stops waiting for it.
+     */
+    public FanOut fanOut() {
+        return new FanOut();
+    }
+
+    /**
+     * How long a fan-out of several checks may take in total before the unfinished ones are cancelled.
+     */
+    public Duration deadline() {
+        return deadline;
+    }
+
+    /**
+     * The stock checks of one request. At most max-concurrency of them run at a time; the others
+     * wait in the fan-out, not in the shared pool, and are started as running ones finish.
+     */
+    public class FanOut {
+
+        private final Deque<Call> waiting = new ArrayDeque<>();
+        private final List<CompletableFuture<StockAnswer>> calls = new ArrayList<>();
+        private int running;
+        private boolean cancelled;
+
+        FanOut() {
+        }
+
+        /**
+         * Check if a product is in stock without blocking the caller.
+         */
+        public synchronized CompletableFuture<StockAnswer> checkStock(String productCode, int quantity) {
+            Call call = new Call(productCode, quantity, new CompletableFuture<>());
+            calls.add(call.result());
+            if (cancelled) {
+                call.result().cancel(false);
+            } else if (running < maxConcurrency) {
+                running++;
+                if (!submit(call)) {
+                    running--;
+                }
+            } else {
+                waiting.add(call);
+            }
+            return call.result();
+        }
+
+        /**
+         * Cancel every call that has not finished: waiting and queued calls are never made,
+         * and running calls are no longer waited for.
+         */
+        public void cancel() {
+            List<CompletableFuture<StockAnswer>> outstanding;
+            synchronized (this) {
+                cancelled = true;
+                waiting.clear();
+                outstanding = new ArrayList<>(calls);
+            }
+            outstanding.forEach(result -> result.cancel(false));
+        }
+
+        /**
+         * Hand a call to the executor; false if it rejects the call (the pool's queue is full).
+         */
+        private boolean submit(Call call) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        // Skip calls that were cancelled while they sat in the pool's queue
+                        if (!call.result().isDone()) {
+                            call.result().complete(inventoryClient.checkStock(call.productCode(), call.quantity()));
+                        }
+                    } catch (RuntimeException e) {
+                        call.result().completeExceptionally(e);
+                    } finally {
+                        startNext();
+                    }
+                });
+                return true;
+            } catch (RejectedExecutionException e) {
+                call.result().completeExceptionally(e);
+                return false;
+            }
+        }
+
+        /**
+         * Start the next waiting call in place of one that has finished.
+         */
+        private synchronized void startNext() {
+            Call next;
+            while ((next = cancelled ? null : waiting.poll()) != null) {
+                if (submit(next)) {
+                    return;
+                }
+            }
+            running--;
+        }
+    }
+
+    private record Call(String productCode, int quantity, CompletableFuture<StockAnswer> result) {
+    }
+}
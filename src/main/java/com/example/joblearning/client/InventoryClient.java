@@ -1,11 +1,15 @@
 package com.example.joblearning.client;
 
+import com.example.joblearning.dto.StockCheckRequest;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -15,7 +19,7 @@ import java.util.Map;
  * - Microservice communication
  * - Service discovery pattern
  */
-@FeignClient(name = "inventory-service", url = "http://localhost:8081")
+@FeignClient(name = "inventory-service", url = "${inventory-service.url:http://localhost:8081}")
 public interface InventoryClient {
 
     /**
@@ -28,4 +32,20 @@ public interface InventoryClient {
     ResponseEntity<Map<String, Boolean>> checkStock(
             @PathVariable("productCode") String productCode,
             @RequestParam(value = "quantity", defaultValue = "1") Integer quantity);
+
+    /**
+     * Check stock for several products in one round trip.
+     * @param requests The product codes and required quantities to check
+     * @return Response containing a map from product code to whether it is in stock
+     */
+    @PostMapping("/api/inventory/check-stock")
+    ResponseEntity<Map<String, Boolean>> checkStockBulk(@RequestBody List<StockCheckRequest> requests);
+
+    /**
+     * Get the available quantity of several products in one round trip.
+     * @param productIds The ids of the products
+     * @return Response containing a map from product id to its quantity over all warehouses
+     */
+    @PostMapping("/api/inventory/availability")
+    ResponseEntity<Map<Long, Integer>> getAvailableQuantities(@RequestBody List<Long> productIds);
 }
@@ -0,0 +1,124 @@
+package com.example.joblearning.client;
+
+import com.example.joblearning.dto.StockCheckRequest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fault-tolerant wrapper around {@link InventoryClient}.
+ * This class demonstrates:
+ * - Circuit breaker pattern with Resilience4j (fails fast while inventory-service is unhealthy)
+ * - Bulkhead pattern (bounds the number of threads waiting on inventory-service)
+ * - Stale-while-error fallback serving the last known answer
+ *
+ * Per-call connect/read timeouts are configured on the Feign client
+ * (spring.cloud.openfeign.client.config.inventory-service.*).
+ */
+@Component
+public class ResilientInventoryClient {
+
+    public static final String INVENTORY_SERVICE = "inventory-service";
+
+    private final InventoryClient inventoryClient;
+    private final Cache<String, Boolean> lastKnownStock;
+
+    @Autowired
+    public ResilientInventoryClient(InventoryClient inventoryClient,
+                                    CircuitBreakerRegistry circuitBreakerRegistry,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${inventory-service.last-known-stock.maximum-size:50000}") long lastKnownMaximumSize) {
+        this.inventoryClient = inventoryClient;
+        this.lastKnownStock = Caffeine.newBuilder()
+                .maximumSize(lastKnownMaximumSize)
+                .build();
+
+        circuitBreakerRegistry.circuitBreaker(INVENTORY_SERVICE).getEventPublisher()
+                .onStateTransition(event -> meterRegistry.counter("inventory.client.circuitbreaker.transitions",
+                                "from", event.getStateTransition().getFromState().name(),
+                                "to", event.getStateTransition().getToState().name())
+                        .increment());
+    }
+
+    /**
+     * Check if a product is in stock.
+     * Falls back to the last known answer (or false if there is none) when the call fails,
+     * times out, is rejected by the bulkhead or the circuit is open; such answers are marked
+     * as {@link StockAnswer#fromLastKnown() from last known}.
+     */
+    @CircuitBreaker(name = INVENTORY_SERVICE, fallbackMethod = "checkStockFromLastKnown")
+    @Bulkhead(name = INVENTORY_SERVICE)
+    public StockAnswer checkStock(String productCode, int quantity) {
+        ResponseEntity<Map<String, Boolean>> response = inventoryClient.checkStock(productCode, quantity);
+        boolean inStock = response.getBody() != null && Boolean.TRUE.equals(response.getBody().get("inStock"));
+        lastKnownStock.put(key(productCode, quantity), inStock);
+        return StockAnswer.live(inStock);
+    }
+
+    /**
+     * Check stock for several products in one call.
+     * Falls back to the last known answer per product in the same cases as {@link #checkStock}.
+     */
+    @CircuitBreaker(name = INVENTORY_SERVICE, fallbackMethod = "checkStockBulkFromLastKnown")
+    @Bulkhead(name = INVENTORY_SERVICE)
+    public Map<String, Boolean> checkStockBulk(Map<String, Integer> quantities) {
+        List<StockCheckRequest> requests = new ArrayList<>(quantities.size());
+        quantities.forEach((productCode, quantity) -> requests.add(new StockCheckRequest(productCode, quantity)));
+
+        ResponseEntity<Map<String, Boolean>> response = inventoryClient.checkStockBulk(requests);
+        Map<String, Boolean> body = response.getBody() != null ? response.getBody() : Map.of();
+
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        quantities.forEach((productCode, quantity) -> {
+            boolean inStock = Boolean.TRUE.equals(body.get(productCode));
+            lastKnownStock.put(key(productCode, quantity), inStock);
+            result.put(productCode, inStock);
+        });
+        return result;
+    }
+
+    /**
+     * Get the available quantity of several products, identified by product id, in one call.
+     * Falls back to an empty map (availability unknown) in the same cases as {@link #checkStock}.
+     */
+    @CircuitBreaker(name = INVENTORY_SERVICE, fallbackMethod = "availableQuantitiesUnknown")
+    @Bulkhead(name = INVENTORY_SERVICE)
+    public Map<Long, Integer> getAvailableQuantities(List<Long> productIds) {
+        ResponseEntity<Map<Long, Integer>> response = inventoryClient.getAvailableQuantities(productIds);
+        return response.getBody() != null ? response.getBody() : Map.of();
+    }
+
+    private StockAnswer checkStockFromLastKnown(String productCode, int quantity, Throwable cause) {
+        return StockAnswer.lastKnown(lastKnownStock(productCode, quantity));
+    }
+
+    private Map<String, Boolean> checkStockBulkFromLastKnown(Map<String, Integer> quantities, Throwable cause) {
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        quantities.forEach((productCode, quantity) -> result.put(productCode, lastKnownStock(productCode, quantity)));
+        return result;
+    }
+
+    private Map<Long, Integer> availableQuantitiesUnknown(List<Long> productIds, Throwable cause) {
+        return Map.of();
+    }
+
+    private boolean lastKnownStock(String productCode, int quantity) {
+        return Boolean.TRUE.equals(lastKnownStock.getIfPresent(key(productCode, quantity)));
+    }
+
+    private static String key(String productCode, int quantity) {
+        return productCode + ':' + quantity;
+    }
+}
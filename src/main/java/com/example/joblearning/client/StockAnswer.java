@@ -0,0 +1,20 @@
+package com.example.joblearning.client;
+
+/**
+ * Answer to a stock check, and whether the inventory service actually gave it.
+ * This class demonstrates:
+ * - Marking degraded (fallback) results, so callers can treat them differently from live ones
+ *
+ * A last-known answer is served while the inventory service is unavailable. It may be stale
+ * or a plain "not in stock" default, so it must not be cached as if the service had answered.
+ */
+public record StockAnswer(boolean inStock, boolean fromLastKnown) {
+
+    public static StockAnswer live(boolean inStock) {
+        return new StockAnswer(inStock, false);
+    }
+
+    public static StockAnswer lastKnown(boolean inStock) {
+        return new StockAnswer(inStock, true);
+    }
+}
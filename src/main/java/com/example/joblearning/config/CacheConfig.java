@@ -0,0 +1,45 @@
+package com.example.joblearning.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Spring Cache configuration for product reads.
+ * This class demonstrates:
+ * - Declarative caching with the Spring Cache abstraction (@Cacheable)
+ * - Caffeine caches with individual size and expiry settings per cache
+ *
+ * Only the caches listed here exist; each is configured with a Caffeine spec
+ * (product-cache.*.spec) and records statistics for the cache metrics.
+ * Entries are evicted by {@link com.example.joblearning.event.ProductCacheInvalidationListener}
+ * once a product change has been committed.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCTS_BY_CATEGORY = "productsByCategory";
+    public static final String PRODUCTS_BY_MAX_PRICE = "productsByMaxPrice";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${product-cache.products.spec:maximumSize=10000,expireAfterWrite=10m}") String productsSpec,
+            @Value("${product-cache.products-by-category.spec:maximumSize=1000,expireAfterWrite=5m}") String productsByCategorySpec,
+            @Value("${product-cache.products-by-max-price.spec:maximumSize=200,expireAfterWrite=1m}") String productsByMaxPriceSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // No caches are created on demand: a misspelled cache name fails instead of caching unbounded
+        cacheManager.setCacheNames(List.of());
+        cacheManager.registerCustomCache(PRODUCTS, Caffeine.from(productsSpec).recordStats().build());
+        cacheManager.registerCustomCache(PRODUCTS_BY_CATEGORY, Caffeine.from(productsByCategorySpec).recordStats().build());
+        cacheManager.registerCustomCache(PRODUCTS_BY_MAX_PRICE, Caffeine.from(productsByMaxPriceSpec).recordStats().build());
+        return cacheManager;
+    }
+}
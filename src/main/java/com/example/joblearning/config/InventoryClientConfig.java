@@ -0,0 +1,41 @@
+package com.example.joblearning.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor for the asynchronous calls to inventory-service.
+ * This class demonstrates:
+ * - A bounded thread pool that rejects work instead of queueing without limit
+ * - Providing a bean per profile (see {@link VirtualThreadsConfig} for the virtual-thread variant)
+ *
+ * {@link com.example.joblearning.client.AsyncInventoryClient} runs its calls on this pool of
+ * pool-size platform threads with a queue of at most queue-capacity calls.
+ */
+@Configuration(proxyBeanMethods = false)
+public class InventoryClientConfig {
+
+    public static final String INVENTORY_CLIENT_EXECUTOR = "inventoryClientExecutor";
+
+    @Bean(name = INVENTORY_CLIENT_EXECUTOR, destroyMethod = "shutdownNow")
+    @Profile("!virtual-threads")
+    public ExecutorService inventoryClientExecutor(
+            @Value("${inventory-service.async.pool-size:64}") int poolSize,
+            @Value("${inventory-service.async.queue-capacity:1000}") int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "inventory-client-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.joblearning.config;
+
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the service on virtual threads when the "virtual-threads" profile is active.
+ * This class demonstrates:
+ * - Java 21 virtual threads with Spring Boot
+ * - Replacing the Tomcat worker pool, the application task executor and the inventory client executor
+ *
+ * Covers request handling, MVC async work (streaming responses) and the blocking Feign calls
+ * to inventory-service, made from the request threads or from AsyncInventoryClient. Blocking on the network or
+ * JDBC then parks a cheap virtual thread instead of holding a pooled platform thread.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("virtual-threads")
+public class VirtualThreadsConfig {
+
+    /**
+     * Handle every request on its own virtual thread instead of the Tomcat thread pool.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Executor for @Async methods and Spring MVC async request processing.
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Executor for AsyncInventoryClient: a virtual thread per call. Each fan-out still starts at most
+     * max-concurrency calls at a time, and the bulkhead bounds the calls of all requests.
+     */
+    @Bean(name = InventoryClientConfig.INVENTORY_CLIENT_EXECUTOR, destroyMethod = "shutdownNow")
+    public ExecutorService inventoryClientExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
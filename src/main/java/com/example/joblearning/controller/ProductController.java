@@ -1,14 +1,39 @@
 package com.example.joblearning.controller;
 
+import com.example.joblearning.dto.BulkImportResult;
+import com.example.joblearning.dto.CategoryStats;
+import com.example.joblearning.dto.PartialProduct;
+import com.example.joblearning.exception.InvalidSortException;
 import com.example.joblearning.model.Product;
+import com.example.joblearning.service.ProductImportService;
 import com.example.joblearning.service.ProductService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
 
 /**
  * REST controller for Product entity.
@@ -18,27 +43,119 @@ import java.util.List;
  * - Request parameter handling
  * - Response entity construction
  * - Bean validation integration
+ * - Keyset (cursor) pagination
+ * - Streaming responses and request bodies (NDJSON)
+ * - Server-side enrichment with data from another microservice
+ * - Conditional GET with ETag and Last-Modified validators
+ * - Sparse fieldsets (fields=id,name,price) backed by projections
+ * - Per-category statistics served from memory
+ * - Price ranges sorted by price, and the cheapest products of a category
+ * - Multi-product stock checks fanned out to the inventory service
+ *
+ * The list endpoints accept withStock=true to add each product's inventory availability
+ * (availableQuantity, inStock), fetched with one call to the inventory service per page,
+ * and fields=... to return only the listed fields (id is always included); only the columns
+ * of those fields are read from the database. Unknown fields are rejected with 400 Bad Request.
+ * Products and product lists carry an ETag (and single products a Last-Modified header), so a
+ * client revalidating with If-None-Match gets 304 Not Modified with no body while nothing has changed.
  */
 @RestController
 @RequestMapping("/api/products")
 @CrossOrigin(origins = "http://localhost:4200") // For Angular frontend
 public class ProductController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int MAX_PAGE_SIZE = 500;
+    static final String PRICE_SORT = "price";
+
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ObjectReader productReader;
+    private final ObjectWriter productWriter;
 
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductImportService productImportService,
+                             ObjectMapper objectMapper) {
         this.productService = productService;
+        this.productImportService = productImportService;
+        this.productReader = objectMapper.readerFor(Product.class);
+        // One writer for all export lines: it must neither close nor flush the response stream per product
+        this.productWriter = objectMapper.writerFor(Product.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     /**
-     * Get all products.
-     * GET /api/products
+     * Get products one page at a time, ordered by id.
+     * GET /api/products?after={id}&limit={limit}
+     * When a full page is returned, the X-Next-Cursor header holds the value for the next "after".
+     * The whole catalog in one response is only returned on explicit opt-in:
+     * GET /api/products?unpaged=true
      */
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        List<Product> products = productService.getAllProducts();
-        return new ResponseEntity<>(products, HttpStatus.OK);
+    public ResponseEntity<List<?>> getAllProducts(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", defaultValue = "50") int limit,
+            @RequestParam(value = "unpaged", defaultValue = "false") boolean unpaged,
+            @RequestParam(value = "withStock", defaultValue = "false") boolean withStock,
+            @RequestParam(value = "fields", required = false) List<String> fields) {
+
+        if (unpaged) {
+            if (fields != null) {
+                List<PartialProduct> products = productService.getAllProductFields(fields);
+                return partialProductList(products, fields, withStock, new HttpHeaders());
+            }
+            List<Product> products = productService.getAllProducts();
+            return productList(products, withStock, new HttpHeaders());
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        if (fields != null) {
+            List<PartialProduct> products = productService.getProductFieldsAfter(after, pageSize, fields);
+            HttpHeaders headers = pageHeaders(products, pageSize, PartialProduct::getId);
+            return partialProductList(products, fields, withStock, headers);
+        }
+        List<Product> products = productService.getProductsAfter(after, pageSize);
+        return productList(products, withStock, pageHeaders(products, pageSize, Product::getId));
+    }
+
+    private static <T> HttpHeaders pageHeaders(List<T> page, int pageSize, Function<T, Long> id) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.size() == pageSize) {
+            headers.set(NEXT_CURSOR_HEADER, String.valueOf(id.apply(page.get(pageSize - 1))));
+        }
+        return headers;
+    }
+
+    /**
+     * Export the whole catalog as newline-delimited JSON, one product per line, ordered by id.
+     * GET /api/products/export
+     * Products are written to the response as they are read from the database,
+     * so neither the product list nor the JSON document is ever held in memory.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            try {
+                productService.exportProducts(product -> writeLine(out, product));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private void writeLine(OutputStream out, Product product) {
+        try {
+            productWriter.writeValue(out, product);
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
@@ -48,7 +165,8 @@ public class ProductController {
     @GetMapping("/{id}")
     public ResponseEntity<Product> getProductById(@PathVariable Long id) {
         Product product = productService.getProductById(id);
-        return new ResponseEntity<>(product, HttpStatus.OK);
+        HttpHeaders headers = EntityTags.forEntity(product.getId(), product.getVersion(), product.getLastModified());
+        return new ResponseEntity<>(product, headers, HttpStatus.OK);
     }
 
     /**
@@ -61,6 +179,21 @@ public class ProductController {
         return new ResponseEntity<>(createdProduct, HttpStatus.CREATED);
     }
 
+    /**
+     * Create many products at once.
+     * POST /api/products/bulk
+     * The body is either a JSON array of products or newline-delimited JSON (application/x-ndjson).
+     * It is read one product at a time, and the products are saved in chunks. The response lists
+     * the outcome of every product; invalid or unreadable products do not stop the import.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResult> importProducts(InputStream body) throws IOException {
+        try (MappingIterator<Product> products = productReader.readValues(body)) {
+            BulkImportResult result = productImportService.importProducts(new LenientProductIterator(products));
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        }
+    }
+
     /**
      * Update an existing product.
      * PUT /api/products/{id}
@@ -86,28 +219,185 @@ public class ProductController {
      * GET /api/products/category/{category}
      */
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Product>> getProductsByCategory(@PathVariable String category) {
+    public ResponseEntity<List<?>> getProductsByCategory(
+            @PathVariable String category,
+            @RequestParam(value = "withStock", defaultValue = "false") boolean withStock,
+            @RequestParam(value = "fields", required = false) List<String> fields) {
+        if (fields != null) {
+            List<PartialProduct> products = productService.getProductFieldsByCategory(category, fields);
+            return partialProductList(products, fields, withStock, new HttpHeaders());
+        }
         List<Product> products = productService.getProductsByCategory(category);
-        return new ResponseEntity<>(products, HttpStatus.OK);
+        return productList(products, withStock, new HttpHeaders());
     }
 
     /**
-     * Find products with price less than the specified value.
-     * GET /api/products/price?max={price}
+     * Find the cheapest products of a category, cheapest first.
+     * GET /api/products/category/{category}/cheapest?limit={limit}
+     */
+    @GetMapping("/category/{category}/cheapest")
+    public ResponseEntity<List<?>> getCheapestProductsInCategory(
+            @PathVariable String category,
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            @RequestParam(value = "withStock", defaultValue = "false") boolean withStock) {
+        int resultSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Product> products = productService.getCheapestProductsInCategory(category, resultSize);
+        return productList(products, withStock, new HttpHeaders());
+    }
+
+    /**
+     * Find products by price.
+     * GET /api/products/price?max={price} returns all products below max, in no particular order.
+     * GET /api/products/price?min={min}&max={max}&sort=price&limit={limit} returns the products with
+     * min &lt;= price &lt; max, cheapest first, at most limit of them. Either bound may be left out,
+     * but not both (400 Bad Request); an unsupported sort is rejected with 400 Bad Request as well.
      */
     @GetMapping("/price")
-    public ResponseEntity<List<Product>> getProductsByPrice(@RequestParam("max") Double price) {
+    public ResponseEntity<List<?>> getProductsByPrice(
+            @RequestParam(value = "min", required = false) Double min,
+            @RequestParam(value = "max", required = false) Double price,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "limit", defaultValue = "50") int limit,
+            @RequestParam(value = "withStock", defaultValue = "false") boolean withStock,
+            @RequestParam(value = "fields", required = false) List<String> fields)
+            throws MissingServletRequestParameterException {
+        if (min == null && price == null) {
+            throw new MissingServletRequestParameterException("max", "Double");
+        }
+        if (sort != null && !PRICE_SORT.equals(sort)) {
+            throw new InvalidSortException("Cannot sort by: " + sort + " (sortable: " + PRICE_SORT + ")");
+        }
+        if (min != null || sort != null) {
+            int resultSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+            if (fields != null) {
+                List<PartialProduct> products =
+                        productService.getProductFieldsByPriceRange(min, price, resultSize, fields);
+                return partialProductList(products, fields, withStock, new HttpHeaders());
+            }
+            List<Product> products = productService.getProductsByPriceRange(min, price, resultSize);
+            return productList(products, withStock, new HttpHeaders());
+        }
+        if (fields != null) {
+            List<PartialProduct> products = productService.getProductFieldsWithPriceLessThan(price, fields);
+            return partialProductList(products, fields, withStock, new HttpHeaders());
+        }
         List<Product> products = productService.getProductsWithPriceLessThan(price);
-        return new ResponseEntity<>(products, HttpStatus.OK);
+        return productList(products, withStock, new HttpHeaders());
     }
 
     /**
-     * Search products by name.
-     * GET /api/products/search?name={name}
+     * Search products by name, most relevant first.
+     * GET /api/products/search?name={name}&limit={limit}
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Product>> searchProducts(@RequestParam("name") String name) {
-        List<Product> products = productService.searchProductsByName(name);
-        return new ResponseEntity<>(products, HttpStatus.OK);
+    public ResponseEntity<List<?>> searchProducts(
+            @RequestParam("name") String name,
+            @RequestParam(value = "limit", defaultValue = "50") int limit,
+            @RequestParam(value = "withStock", defaultValue = "false") boolean withStock,
+            @RequestParam(value = "fields", required = false) List<String> fields) {
+        int resultSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        if (fields != null) {
+            List<PartialProduct> products = productService.searchProductFieldsByName(name, resultSize, fields);
+            return partialProductList(products, fields, withStock, new HttpHeaders());
+        }
+        List<Product> products = productService.searchProductsByName(name, resultSize);
+        return productList(products, withStock, new HttpHeaders());
+    }
+
+    /**
+     * Product count, price range, average price and total stock of every category.
+     * GET /api/products/categories/stats
+     */
+    @GetMapping("/categories/stats")
+    public ResponseEntity<List<CategoryStats>> getCategoryStats() {
+        return ResponseEntity.ok(productService.getCategoryStats());
+    }
+
+    /**
+     * Check stock for several products (e.g. a whole cart) at once.
+     * POST /api/products/stock-check
+     * Body: {"PROD-001": 2, "PROD-002": 1} (product code -> required quantity)
+     * Products are looked up concurrently through the stock near-cache; products whose lookup
+     * fails or does not finish before the deadline are reported as not in stock.
+     */
+    @PostMapping("/stock-check")
+    public ResponseEntity<Map<String, Boolean>> checkStock(@RequestBody Map<String, Integer> quantities) {
+        return ResponseEntity.ok(productService.areProductsInStockConcurrently(quantities));
+    }
+
+    /**
+     * Respond with the products, enriched with their stock when requested.
+     * Plain lists get an ETag; lists with stock do not, because stock levels change without
+     * the products changing.
+     */
+    private ResponseEntity<List<?>> productList(List<Product> products, boolean withStock, HttpHeaders headers) {
+        if (withStock) {
+            return new ResponseEntity<>(productService.withStock(products), headers, HttpStatus.OK);
+        }
+        EntityTags.addForList(headers, products, Product::getId, Product::getVersion);
+        return new ResponseEntity<>(products, headers, HttpStatus.OK);
+    }
+
+    /**
+     * Respond with the partial products, like {@link #productList}; the ETag also covers the
+     * selected fields, since every fieldset is a different representation of the same products.
+     */
+    private ResponseEntity<List<?>> partialProductList(List<PartialProduct> products, List<String> fields,
+                                                       boolean withStock, HttpHeaders headers) {
+        if (withStock) {
+            return new ResponseEntity<>(productService.withStockFields(products), headers, HttpStatus.OK);
+        }
+        EntityTags.addForList(headers, String.join(",", fields), products,
+                PartialProduct::getId, PartialProduct::getVersion);
+        return new ResponseEntity<>(products, headers, HttpStatus.OK);
+    }
+
+    /**
+     * Reads products from a request body, handing out null for each product that cannot be read.
+     * A product that does not map onto Product is skipped and reading goes on with the next one;
+     * after malformed JSON nothing more can be read, so one null is returned and iteration ends.
+     */
+    private static final class LenientProductIterator implements Iterator<Product> {
+
+        private final MappingIterator<Product> products;
+        private boolean broken;
+        private boolean brokenReported;
+
+        LenientProductIterator(MappingIterator<Product> products) {
+            this.products = products;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (broken) {
+                return !brokenReported;
+            }
+            try {
+                return products.hasNextValue();
+            } catch (IOException e) {
+                broken = true;
+                return true;
+            }
+        }
+
+        @Override
+        public Product next() {
+            if (broken) {
+                if (brokenReported) {
+                    throw new NoSuchElementException();
+                }
+                brokenReported = true;
+                return null;
+            }
+            try {
+                return products.nextValue();
+            } catch (JsonMappingException e) {
+                return null;
+            } catch (IOException e) {
+                broken = true;
+                brokenReported = true;
+                return null;
+            }
+        }
     }
 }
@@ -0,0 +1,48 @@
+package com.example.joblearning.controller;
+
+import com.example.joblearning.cache.StockAvailabilityCache;
+import com.example.joblearning.cache.StockAvailabilityCache.StockCacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for the stock availability near-cache.
+ * This class demonstrates:
+ * - Receiving cache invalidations pushed by another microservice
+ * - Exposing cache statistics
+ */
+@RestController
+@RequestMapping("/api/stock-cache")
+public class StockCacheController {
+
+    private final StockAvailabilityCache stockAvailabilityCache;
+
+    @Autowired
+    public StockCacheController(StockAvailabilityCache stockAvailabilityCache) {
+        this.stockAvailabilityCache = stockAvailabilityCache;
+    }
+
+    /**
+     * Evict cached stock answers for the given product codes.
+     * POST /api/stock-cache/invalidate
+     * Body: ["PROD-001", "PROD-002"]
+     */
+    @PostMapping("/invalidate")
+    public ResponseEntity<Void> invalidate(@RequestBody List<String> productCodes) {
+        stockAvailabilityCache.invalidate(productCodes);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    /**
+     * Get hit/miss/eviction counters of the cache.
+     * GET /api/stock-cache/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<StockCacheStats> getStats() {
+        return new ResponseEntity<>(stockAvailabilityCache.stats(), HttpStatus.OK);
+    }
+}
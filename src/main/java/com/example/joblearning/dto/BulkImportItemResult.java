@@ -0,0 +1,32 @@
+package com.example.joblearning.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of one product of a bulk import.
+ * This class demonstrates:
+ * - Data transfer objects for response payloads
+ * - Lombok annotations to reduce boilerplate code
+ *
+ * The index is the position of the product in the request, starting at 0.
+ * The id is only set for created products, the errors only for the others.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportItemResult {
+
+    public enum Status { CREATED, INVALID, FAILED }
+
+    private int index;
+
+    private Status status;
+
+    private Long id;
+
+    private List<String> errors;
+}
@@ -0,0 +1,27 @@
+package com.example.joblearning.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a bulk product import: totals plus the outcome of every product.
+ * This class demonstrates:
+ * - Data transfer objects for response payloads
+ * - Lombok annotations to reduce boilerplate code
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResult {
+
+    private int created;
+
+    private int invalid;
+
+    private int failed;
+
+    private List<BulkImportItemResult> items;
+}
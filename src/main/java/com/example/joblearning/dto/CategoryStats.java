@@ -0,0 +1,32 @@
+package com.example.joblearning.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Summary of the products in one category.
+ * This class demonstrates:
+ * - Data transfer objects for response payloads
+ * - Lombok annotations to reduce boilerplate code
+ *
+ * The prices are null for a category without products. Products without a stock quantity
+ * count as 0 in the total.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryStats {
+
+    private String category;
+
+    private long productCount;
+
+    private Double minPrice;
+
+    private Double maxPrice;
+
+    private Double averagePrice;
+
+    private long totalStockQuantity;
+}
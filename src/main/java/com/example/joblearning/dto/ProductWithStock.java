@@ -0,0 +1,30 @@
+package com.example.joblearning.dto;
+
+import com.example.joblearning.model.Product;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A product together with its availability in the inventory service.
+ * This class demonstrates:
+ * - Data transfer objects for response payloads
+ * - Lombok annotations to reduce boilerplate code
+ * - Flattening a nested object into the JSON response with @JsonUnwrapped
+ *
+ * The product's own fields are written at the top level, next to availableQuantity and inStock.
+ * Both are null when the inventory service could not be reached.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductWithStock {
+
+    @JsonUnwrapped
+    private Product product;
+
+    private Integer availableQuantity;
+
+    private Boolean inStock;
+}
@@ -0,0 +1,58 @@
+package com.example.joblearning.event;
+
+import com.example.joblearning.config.CacheConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Evicts the cached product reads that a product change makes stale.
+ * This class demonstrates:
+ * - Transaction-bound event listeners (runs only after the change is committed)
+ * - Precise cache invalidation by key
+ *
+ * Evicting after the commit, together with synchronized (sync = true) cache loads, means no stale
+ * entry survives: evicting a key waits for a load of that key that is still running, and any load
+ * that starts later reads the committed data.
+ *
+ * Price listings ("all products cheaper than X") can be affected by any change, so they are keyed
+ * by a version as well as the price. A change moves to a new version, which leaves older entries
+ * unreachable even if their load was still running, and then drops them.
+ */
+@Component
+public class ProductCacheInvalidationListener {
+
+    private final Cache products;
+    private final Cache productsByCategory;
+    private final Cache productsByMaxPrice;
+    private final AtomicLong priceListingsVersion = new AtomicLong();
+
+    @Autowired
+    public ProductCacheInvalidationListener(CacheManager cacheManager) {
+        this.products = cacheManager.getCache(CacheConfig.PRODUCTS);
+        this.productsByCategory = cacheManager.getCache(CacheConfig.PRODUCTS_BY_CATEGORY);
+        this.productsByMaxPrice = cacheManager.getCache(CacheConfig.PRODUCTS_BY_MAX_PRICE);
+    }
+
+    /**
+     * Current version of the cached price listings, part of their cache key.
+     */
+    public long priceListingsVersion() {
+        return priceListingsVersion.get();
+    }
+
+    /**
+     * Evict the product by id, the listings of its old and new category and all price listings.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        products.evict(event.productId());
+        event.categories().forEach(productsByCategory::evict);
+        priceListingsVersion.incrementAndGet();
+        productsByMaxPrice.clear();
+    }
+}
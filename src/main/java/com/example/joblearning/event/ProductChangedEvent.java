@@ -0,0 +1,57 @@
+package com.example.joblearning.event;
+
+import com.example.joblearning.model.Product;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Application event published whenever a product is created, updated or deleted.
+ * This class demonstrates:
+ * - Spring application events for decoupling side effects from business logic
+ * - Events carrying the state before and after a change, so listeners can apply deltas
+ *
+ * For {@link Type#REMOVED} the name is unused. The state before the change is null for a new
+ * product, the state after it is null for a removed one. Listeners that keep per-category data
+ * can take the old values out and put the new ones in, without looking the product up again.
+ */
+public record ProductChangedEvent(Long productId, Type type, String name, State before, State after) {
+
+    public enum Type { SAVED, REMOVED }
+
+    /**
+     * The product fields that listeners aggregate or index, at one point in time.
+     */
+    public record State(String category, Double price, Integer stockQuantity) {
+
+        public static State of(Product product) {
+            return new State(product.getCategory(), product.getPrice(), product.getStockQuantity());
+        }
+    }
+
+    public static ProductChangedEvent saved(Product product) {
+        return new ProductChangedEvent(product.getId(), Type.SAVED, product.getName(), null, State.of(product));
+    }
+
+    public static ProductChangedEvent updated(Product product, State before) {
+        return new ProductChangedEvent(product.getId(), Type.SAVED, product.getName(), before, State.of(product));
+    }
+
+    public static ProductChangedEvent removed(Product product) {
+        return new ProductChangedEvent(product.getId(), Type.REMOVED, null, State.of(product), null);
+    }
+
+    /**
+     * The categories the product was in before and after the change (one entry when the
+     * category did not change), so listeners that keep per-category data know which to refresh.
+     */
+    public List<String> categories() {
+        return Stream.of(before, after)
+                .filter(Objects::nonNull)
+                .map(State::category)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.joblearning.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a sparse fieldset names fields that cannot be selected.
+ * This class demonstrates:
+ * - Custom exception handling in Spring
+ * - HTTP status code mapping with @ResponseStatus
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidFieldsException extends RuntimeException {
+
+    public InvalidFieldsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.joblearning.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a request asks for a sort order that is not supported.
+ * This class demonstrates:
+ * - Custom exception handling in Spring
+ * - HTTP status code mapping with @ResponseStatus
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidSortException extends RuntimeException {
+
+    public InvalidSortException(String message) {
+        super(message);
+    }
+}
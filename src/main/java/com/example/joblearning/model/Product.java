@@ -4,13 +4,20 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 /**
  * Product entity class.
@@ -19,16 +26,26 @@ import lombok.NoArgsConstructor;
  * - Hibernate integration with Spring Boot
  * - Bean validation using Jakarta Validation
  * - Lombok annotations to reduce boilerplate code
+ * - Database indexes backing the repository finder queries
+ * - Pooled sequence ids, so inserts can be sent to the database in JDBC batches
+ * - Version and last-modified columns, the validators behind ETag and Last-Modified headers
+ *
+ * Version and last-modified time are maintained by Hibernate and are read-only in JSON requests.
  */
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category", columnList = "category"),
+        @Index(name = "idx_products_price", columnList = "price"),
+        @Index(name = "idx_products_stock_quantity", columnList = "stockQuantity")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Product name is required")
@@ -43,4 +60,16 @@ public class Product {
     private String category;
     
     private Integer stockQuantity;
+
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    @UpdateTimestamp
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant lastModified;
+
+    public Product(Long id, String name, String description, Double price, String category, Integer stockQuantity) {
+        this(id, name, description, price, category, stockQuantity, null, null);
+    }
 }
@@ -1,11 +1,16 @@
 package com.example.joblearning.repository;
 
 import com.example.joblearning.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Product repository interface.
@@ -13,10 +18,13 @@ import java.util.List;
  * - Spring Data JPA repository pattern
  * - Automatic CRUD operations provided by JpaRepository
  * - Custom query methods
- * - JPQL queries
+ * - JPQL queries (including aggregate GROUP BY queries)
+ * - Keyset (cursor) pagination
+ * - Streaming query results
+ * - Custom repository fragments (projections of selected attributes)
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
 
     /**
      * Find products by category.
@@ -29,6 +37,19 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     List<Product> findByPriceLessThan(Double price);
 
+    /**
+     * Find products with min &lt;= price &lt; max (a null bound is left open), cheapest first.
+     * Only the fallback for the in-memory price index.
+     */
+    @Query("SELECT p FROM Product p WHERE (:min IS NULL OR p.price >= :min) " +
+           "AND (:max IS NULL OR p.price < :max) ORDER BY p.price, p.id")
+    List<Product> findByPriceRange(Double min, Double max, Pageable pageable);
+
+    /**
+     * Find the cheapest products of a category. Only the fallback for the in-memory price index.
+     */
+    List<Product> findByCategoryOrderByPriceAscIdAsc(String category, Pageable pageable);
+
     /**
      * Find products with stock quantity greater than the specified value.
      */
@@ -36,7 +57,51 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     /**
      * Custom JPQL query to find products by name containing the specified string (case insensitive).
+     * The leading wildcard rules out any index, so this is only the fallback for the in-memory name index.
      */
     @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<Product> searchByNameContainingIgnoreCase(String name);
+    List<Product> searchByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    /**
+     * Number of products and their total stock per category and price, for products with a category.
+     * Each row holds the category, the price, the number of products and their summed stock quantity
+     * (null when none of them has one). One row per distinct price keeps the result small, while
+     * still allowing the minimum and maximum price to be maintained as products come and go.
+     */
+    @Query("SELECT p.category, p.price, COUNT(p), SUM(p.stockQuantity) FROM Product p " +
+           "WHERE p.category IS NOT NULL GROUP BY p.category, p.price")
+    List<Object[]> countByCategoryAndPrice();
+
+    /**
+     * Product count, minimum, maximum and average price and total stock per category, ordered by category.
+     * Each row holds the values in that order; the total stock is null when no product has a stock quantity.
+     */
+    @Query("SELECT p.category, COUNT(p), MIN(p.price), MAX(p.price), AVG(p.price), SUM(p.stockQuantity) " +
+           "FROM Product p WHERE p.category IS NOT NULL GROUP BY p.category ORDER BY p.category")
+    List<Object[]> aggregateByCategory();
+
+    /**
+     * Id, price and category of every product, cheapest first (ties by id), to build the price index.
+     */
+    @Query("SELECT p.id, p.price, p.category FROM Product p ORDER BY p.price, p.id")
+    List<Object[]> findPriceEntries();
+
+    /**
+     * Find the next page of products after the given id (keyset pagination).
+     * Seeks on the primary key instead of using an offset, so every page costs the same
+     * regardless of how deep into the catalog it is. Returning a List skips the count query.
+     */
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Stream all products ordered by id.
+     * Rows are fetched from the JDBC cursor in chunks of the fetch size instead of being loaded
+     * into one list. Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAllOrderedById();
 }
@@ -0,0 +1,28 @@
+package com.example.joblearning.repository;
+
+import com.example.joblearning.model.Product;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Product repository operations implemented with the JPA Criteria API.
+ * This interface demonstrates:
+ * - Custom repository fragments in Spring Data JPA
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Select only the given attributes of the matching products (a dynamic projection),
+     * so the columns of the other attributes are never read.
+     * @param attributes Product attribute names, in the order the entries of each map should have
+     * @param specification the products to select, or null for all products
+     * @param sort the order of the products
+     * @param limit the maximum number of products, or 0 for no limit
+     * @return one map from attribute name to value per product
+     */
+    List<Map<String, Object>> findAttributes(List<String> attributes, Specification<Product> specification,
+                                             Sort sort, int limit);
+}
@@ -0,0 +1,73 @@
+package com.example.joblearning.repository;
+
+import com.example.joblearning.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Criteria API implementation of {@link ProductRepositoryCustom}.
+ * This class demonstrates:
+ * - Tuple queries with a select list built at runtime
+ * - Reusing Spring Data Specifications and Sort outside of a derived query
+ */
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public ProductRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Map<String, Object>> findAttributes(List<String> attributes, Specification<Product> specification,
+                                                    Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+
+        List<Tuple> tuples = typedQuery.getResultList();
+        List<Map<String, Object>> result = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String attribute : attributes) {
+                row.put(attribute, tuple.get(attribute));
+            }
+            result.add(row);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.joblearning.search;
+
+import com.example.joblearning.event.ProductChangedEvent;
+import com.example.joblearning.model.Product;
+import com.example.joblearning.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-process trigram index over product names.
+ * This class demonstrates:
+ * - An inverted index (trigram -> product ids) for substring search
+ * - Building a read model in the background while the application already serves requests
+ * - Keeping a read model in sync through transaction-bound events
+ *
+ * Every lower-cased name is split into its overlapping three-character substrings. A query
+ * only has to look at the products listed under its rarest trigram, and those candidates are
+ * then checked with a real substring match, so results are exactly those of a case-insensitive
+ * LIKE '%query%'. Queries shorter than three characters scan the in-memory names instead.
+ *
+ * Reads never lock; writes are rare and serialized on the index.
+ */
+@Component
+public class ProductNameIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private static final Comparator<Match> RELEVANCE = Comparator
+            .comparingInt(Match::rank)
+            .thenComparingInt(Match::nameLength)
+            .thenComparingLong(Match::productId);
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final ConcurrentMap<Long, String> names = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Set<Long> changedDuringLoad = new HashSet<>();
+    private volatile boolean loaded;
+
+    @Autowired
+    public ProductNameIndex(ProductRepository productRepository,
+                            @Value("${product-search.index.enabled:true}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Build the index in the background once the application is up.
+     * Searches fall back to the database until the build has finished.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLoading() {
+        if (!enabled) {
+            return;
+        }
+        Thread loader = new Thread(this::load, "product-name-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Index all product names from the database, one keyset page at a time.
+     * Products changed while the load is running are left to the change events,
+     * so a page read before such a change cannot overwrite it with a stale name.
+     */
+    public void load() {
+        long lastId = 0L;
+        List<Product> page;
+        do {
+            page = productRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            synchronized (this) {
+                for (Product product : page) {
+                    if (!changedDuringLoad.contains(product.getId())) {
+                        put(product.getId(), product.getName());
+                    }
+                    lastId = product.getId();
+                }
+            }
+        } while (page.size() == LOAD_BATCH_SIZE);
+
+        synchronized (this) {
+            changedDuringLoad.clear();
+            loaded = true;
+        }
+    }
+
+    /**
+     * Whether searches can be answered from the index.
+     */
+    public boolean isReady() {
+        return loaded;
+    }
+
+    /**
+     * Apply a committed product change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!loaded) {
+            changedDuringLoad.add(event.productId());
+        }
+        switch (event.type()) {
+            case SAVED -> put(event.productId(), event.name());
+            case REMOVED -> remove(event.productId());
+        }
+    }
+
+    /**
+     * Find the ids of the products whose name contains the query (case insensitive), most relevant first:
+     * exact matches, then names starting with the query, then names with a word starting with it,
+     * then any other match; shorter names rank higher within each group.
+     *
+     * @param query The text to look for
+     * @param limit The maximum number of ids to return
+     */
+    public List<Long> search(String query, int limit) {
+        String normalizedQuery = normalize(query);
+        List<Match> matches = new ArrayList<>();
+        for (Long productId : candidates(normalizedQuery)) {
+            String name = names.get(productId);
+            if (name != null && name.contains(normalizedQuery)) {
+                matches.add(new Match(productId, rank(name, normalizedQuery), name.length()));
+            }
+        }
+        return matches.stream()
+                .sorted(RELEVANCE)
+                .limit(limit)
+                .map(Match::productId)
+                .toList();
+    }
+
+    /**
+     * Number of indexed product names.
+     */
+    public int size() {
+        return names.size();
+    }
+
+    private Collection<Long> candidates(String normalizedQuery) {
+        if (normalizedQuery.length() < GRAM_LENGTH) {
+            return names.keySet();
+        }
+        Set<Long> rarest = null;
+        for (String gram : trigrams(normalizedQuery)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            if (rarest == null || ids.size() < rarest.size()) {
+                rarest = ids;
+            }
+        }
+        return rarest;
+    }
+
+    private void put(Long productId, String name) {
+        remove(productId);
+        if (name == null) {
+            return;
+        }
+        String normalizedName = normalize(name);
+        names.put(productId, normalizedName);
+        for (String gram : trigrams(normalizedName)) {
+            postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(productId);
+        }
+    }
+
+    private void remove(Long productId) {
+        String previousName = names.remove(productId);
+        if (previousName == null) {
+            return;
+        }
+        for (String gram : trigrams(previousName)) {
+            postings.computeIfPresent(gram, (g, ids) -> {
+                ids.remove(productId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static int rank(String name, String query) {
+        if (name.equals(query)) {
+            return 0;
+        }
+        if (name.startsWith(query)) {
+            return 1;
+        }
+        int index = name.indexOf(query);
+        while (index > 0) {
+            if (!Character.isLetterOrDigit(name.charAt(index - 1))) {
+                return 2;
+            }
+            index = name.indexOf(query, index + 1);
+        }
+        return 3;
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private record Match(long productId, int rank, int nameLength) {
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.joblearning.search;
+
+import com.example.joblearning.event.ProductChangedEvent;
+import com.example.joblearning.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process index of product prices, sorted by price.
+ * This class demonstrates:
+ * - Sorted parallel primitive arrays (double prices, long ids) searched with binary search
+ * - Range and top-K queries without loading or sorting entities
+ * - Keeping a read model in sync through transaction-bound events
+ *
+ * Every product is one (price, id) entry, ordered by price and then by id, once in the catalog-wide
+ * list and once in the list of its category. A price range is found with two binary searches and
+ * read off as a contiguous slice; the k cheapest products of a category are the first k entries of
+ * its list. Prices and ids are kept in double[] and long[] arrays, so neither a query nor the index
+ * itself boxes a value; only the ids of the returned page become Long objects.
+ *
+ * A change removes the product's old entry and inserts its new one, shifting the tail of the
+ * arrays with System.arraycopy. Reads share a read lock and writes take the write lock.
+ */
+@Component
+public class ProductPriceIndex {
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final SortedPrices catalog = new SortedPrices();
+    private final Map<String, SortedPrices> categories = new HashMap<>();
+    private volatile boolean loaded;
+
+    @Autowired
+    public ProductPriceIndex(ProductRepository productRepository,
+                             @Value("${product-price-index.enabled:true}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Index the prices of all products. The rows arrive in price order, so every entry is appended.
+     */
+    @PostConstruct
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        List<Object[]> rows = productRepository.findPriceEntries();
+        lock.writeLock().lock();
+        try {
+            catalog.clear();
+            categories.clear();
+            for (Object[] row : rows) {
+                long id = (Long) row[0];
+                double price = (Double) row[1];
+                String category = (String) row[2];
+                catalog.append(price, id);
+                if (category != null) {
+                    categories.computeIfAbsent(category, c -> new SortedPrices()).append(price, id);
+                }
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether price queries can be answered from the index.
+     */
+    public boolean isReady() {
+        return loaded;
+    }
+
+    /**
+     * Number of indexed products.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return catalog.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a committed product change: remove the old entry, insert the new one.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        ProductChangedEvent.State before = event.before();
+        ProductChangedEvent.State after = event.after();
+        if (before != null && after != null
+                && Objects.equals(before.price(), after.price())
+                && Objects.equals(before.category(), after.category())) {
+            return;
+        }
+        long id = event.productId();
+        lock.writeLock().lock();
+        try {
+            if (before != null && before.price() != null) {
+                catalog.remove(before.price(), id);
+                SortedPrices category = before.category() != null ? categories.get(before.category()) : null;
+                if (category != null) {
+                    category.remove(before.price(), id);
+                    if (category.size == 0) {
+                        categories.remove(before.category());
+                    }
+                }
+            }
+            if (after != null && after.price() != null) {
+                catalog.insert(after.price(), id);
+                if (after.category() != null) {
+                    categories.computeIfAbsent(after.category(), c -> new SortedPrices()).insert(after.price(), id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the ids of the products with min &lt;= price &lt; max, cheapest first (ties by id).
+     *
+     * @param min The lowest price to include, or null for no lower bound
+     * @param max The price all products must be below, or null for no upper bound
+     * @param limit The maximum number of ids to return
+     */
+    public List<Long> findByPriceRange(Double min, Double max, int limit) {
+        lock.readLock().lock();
+        try {
+            int from = min != null ? catalog.lowerBound(min) : 0;
+            int to = max != null ? catalog.lowerBound(max) : catalog.size;
+            return catalog.ids(from, to, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the ids of the cheapest products of a category, cheapest first (ties by id).
+     *
+     * @param category The category
+     * @param limit The maximum number of ids to return
+     */
+    public List<Long> findCheapestInCategory(String category, int limit) {
+        lock.readLock().lock();
+        try {
+            SortedPrices prices = categories.get(category);
+            return prices != null ? prices.ids(0, prices.size, limit) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * (price, id) entries in ascending order, stored in two parallel arrays.
+     */
+    private static final class SortedPrices {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private double[] prices = new double[INITIAL_CAPACITY];
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private int size;
+
+        void clear() {
+            prices = new double[INITIAL_CAPACITY];
+            ids = new long[INITIAL_CAPACITY];
+            size = 0;
+        }
+
+        /**
+         * Add an entry that sorts after all present ones.
+         */
+        void append(double price, long id) {
+            ensureCapacity(size + 1);
+            prices[size] = price;
+            ids[size] = id;
+            size++;
+        }
+
+        void insert(double price, long id) {
+            int index = position(price, id);
+            if (index < size && prices[index] == price && ids[index] == id) {
+                return;
+            }
+            ensureCapacity(size + 1);
+            System.arraycopy(prices, index, prices, index + 1, size - index);
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            prices[index] = price;
+            ids[index] = id;
+            size++;
+        }
+
+        void remove(double price, long id) {
+            int index = position(price, id);
+            if (index == size || prices[index] != price || ids[index] != id) {
+                return;
+            }
+            System.arraycopy(prices, index + 1, prices, index, size - index - 1);
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+
+        /**
+         * The index of the first entry with a price of at least the given one.
+         */
+        int lowerBound(double price) {
+            return position(price, Long.MIN_VALUE);
+        }
+
+        /**
+         * The index of the first entry not sorting before (price, id).
+         */
+        int position(double price, long id) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int comparison = Double.compare(prices[middle], price);
+                if (comparison < 0 || (comparison == 0 && ids[middle] < id)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        List<Long> ids(int from, int to, int limit) {
+            int end = (int) Math.min(to, (long) from + Math.max(limit, 0));
+            if (from >= end) {
+                return List.of();
+            }
+            List<Long> result = new ArrayList<>(end - from);
+            for (int i = from; i < end; i++) {
+                result.add(ids[i]);
+            }
+            return result;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > prices.length) {
+                int newCapacity = Math.max(capacity, prices.length + (prices.length >> 1));
+                prices = Arrays.copyOf(prices, newCapacity);
+                ids = Arrays.copyOf(ids, newCapacity);
+            }
+        }
+    }
+}
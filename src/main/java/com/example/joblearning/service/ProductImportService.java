@@ -0,0 +1,145 @@
+package com.example.joblearning.service;
+
+import com.example.joblearning.dto.BulkImportItemResult;
+import com.example.joblearning.dto.BulkImportResult;
+import com.example.joblearning.event.ProductChangedEvent;
+import com.example.joblearning.model.Product;
+import com.example.joblearning.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Bulk product import service.
+ * This class demonstrates:
+ * - Programmatic transaction management with TransactionTemplate
+ * - Chunked processing of large inputs
+ * - JDBC batch inserts through Hibernate (hibernate.jdbc.batch_size)
+ *
+ * Products are validated one by one and the valid ones are saved in chunks, one transaction per
+ * chunk. Product ids come from a pooled sequence, so Hibernate can send each chunk's INSERTs in
+ * JDBC batches. The persistence context is cleared after every chunk, so memory use does not
+ * grow with the size of the import.
+ */
+@Service
+public class ProductImportService {
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    @Autowired
+    public ProductImportService(ProductRepository productRepository, EntityManager entityManager, Validator validator,
+                                PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                                @Value("${product-import.chunk-size:1000}") int chunkSize) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Import products, reporting the outcome of each one.
+     * Invalid products (including null entries, which stand for unreadable input) are skipped.
+     * When saving a chunk fails, its transaction is rolled back and all of its products are
+     * reported as failed; chunks saved before are kept.
+     *
+     * @param products The products to import, in request order; ids are ignored
+     */
+    public BulkImportResult importProducts(Iterator<Product> products) {
+        List<BulkImportItemResult> results = new ArrayList<>();
+        List<Product> chunk = new ArrayList<>(chunkSize);
+        List<BulkImportItemResult> chunkResults = new ArrayList<>(chunkSize);
+
+        int index = 0;
+        while (products.hasNext()) {
+            Product product = products.next();
+            BulkImportItemResult result = new BulkImportItemResult(index++, null, null, null);
+            results.add(result);
+
+            List<String> errors = validate(product);
+            if (!errors.isEmpty()) {
+                result.setStatus(BulkImportItemResult.Status.INVALID);
+                result.setErrors(errors);
+                continue;
+            }
+
+            product.setId(null);
+            chunk.add(product);
+            chunkResults.add(result);
+            if (chunk.size() == chunkSize) {
+                saveChunk(chunk, chunkResults);
+            }
+        }
+        saveChunk(chunk, chunkResults);
+
+        return summarize(results);
+    }
+
+    private void saveChunk(List<Product> chunk, List<BulkImportItemResult> chunkResults) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                productRepository.saveAll(chunk);
+                productRepository.flush();
+                entityManager.clear();
+                chunk.forEach(product -> eventPublisher.publishEvent(ProductChangedEvent.saved(product)));
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                chunkResults.get(i).setStatus(BulkImportItemResult.Status.CREATED);
+                chunkResults.get(i).setId(chunk.get(i).getId());
+            }
+        } catch (RuntimeException e) {
+            List<String> errors = List.of("Could not save product: " + e.getMessage());
+            chunkResults.forEach(result -> {
+                result.setStatus(BulkImportItemResult.Status.FAILED);
+                result.setErrors(errors);
+            });
+        }
+        chunk.clear();
+        chunkResults.clear();
+    }
+
+    private List<String> validate(Product product) {
+        if (product == null) {
+            return List.of("Malformed product");
+        }
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<Product> violation : validator.validate(product)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        errors.sort(null);
+        return errors;
+    }
+
+    private static BulkImportResult summarize(List<BulkImportItemResult> results) {
+        int created = 0;
+        int invalid = 0;
+        int failed = 0;
+        for (BulkImportItemResult result : results) {
+            switch (result.getStatus()) {
+                case CREATED -> created++;
+                case INVALID -> invalid++;
+                case FAILED -> failed++;
+            }
+        }
+        return new BulkImportResult(created, invalid, failed, results);
+    }
+}
@@ -1,35 +1,101 @@
 package com.example.joblearning.service;
 
-import com.example.joblearning.client.InventoryClient;
+import com.example.joblearning.cache.StockAvailabilityCache;
+import com.example.joblearning.catalog.ProductCatalog;
+import com.example.joblearning.client.AsyncInventoryClient;
+import com.example.joblearning.client.ResilientInventoryClient;
+import com.example.joblearning.config.CacheConfig;
+import com.example.joblearning.dto.CategoryStats;
+import com.example.joblearning.dto.PartialProduct;
+import com.example.joblearning.dto.ProductWithStock;
+import com.example.joblearning.event.ProductChangedEvent;
 import com.example.joblearning.model.Product;
 import com.example.joblearning.repository.ProductRepository;
+import com.example.joblearning.exception.InvalidFieldsException;
 import com.example.joblearning.exception.ResourceNotFoundException;
+import com.example.joblearning.search.ProductNameIndex;
+import com.example.joblearning.search.ProductPriceIndex;
+import com.example.joblearning.stats.CategoryStatistics;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Product service class.
  * This class demonstrates:
  * - Service layer in Spring architecture
  * - Transaction management
+ * - Method timing with Micrometer (@Timed)
+ * - Read-through caching of hot queries (@Cacheable)
+ * - Sparse fieldsets backed by dynamic projections
+ * - Aggregates served from an incrementally maintained read model
+ * - Price range and top-K queries served from an in-memory sorted index
+ * - Filtering served from an optional columnar catalog snapshot
  * - Business logic implementation
  * - Integration with repository layer
  */
 @Service
+@Timed(value = "product.service", histogram = true)
 public class ProductService {
 
+    static final int STOCK_LOOKUP_BATCH_SIZE = 500;
+
+    /**
+     * Product fields that can be selected in a sparse fieldset, by their JSON name.
+     */
+    public static final Set<String> SELECTABLE_FIELDS = Set.of(
+            "id", "name", "description", "price", "category", "stockQuantity", "version", "lastModified");
+
     private final ProductRepository productRepository;
-    private final InventoryClient inventoryClient;
+    private final ResilientInventoryClient inventoryClient;
+    private final AsyncInventoryClient asyncInventoryClient;
+    private final StockAvailabilityCache stockAvailabilityCache;
+    private final ProductNameIndex productNameIndex;
+    private final ProductPriceIndex productPriceIndex;
+    private final ProductCatalog productCatalog;
+    private final CategoryStatistics categoryStatistics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
     @Autowired
-    public ProductService(ProductRepository productRepository, InventoryClient inventoryClient) {
+    public ProductService(ProductRepository productRepository, ResilientInventoryClient inventoryClient,
+                          AsyncInventoryClient asyncInventoryClient, StockAvailabilityCache stockAvailabilityCache,
+                          ProductNameIndex productNameIndex, ProductPriceIndex productPriceIndex,
+                          ProductCatalog productCatalog, CategoryStatistics categoryStatistics,
+                          ApplicationEventPublisher eventPublisher, EntityManager entityManager) {
         this.productRepository = productRepository;
         this.inventoryClient = inventoryClient;
+        this.asyncInventoryClient = asyncInventoryClient;
+        this.stockAvailabilityCache = stockAvailabilityCache;
+        this.productNameIndex = productNameIndex;
+        this.productPriceIndex = productPriceIndex;
+        this.productCatalog = productCatalog;
+        this.categoryStatistics = categoryStatistics;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -39,10 +105,37 @@ public class ProductService {
         return productRepository.findAll();
     }
 
+    /**
+     * Get a page of products ordered by id, starting after the given cursor.
+     * @param afterId id of the last product of the previous page, or null for the first page
+     * @param limit maximum number of products to return
+     */
+    public List<Product> getProductsAfter(Long afterId, int limit) {
+        long cursor = afterId != null ? afterId : 0L;
+        return productRepository.findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Hand every product, ordered by id, to the consumer one at a time.
+     * Products are streamed from the database and detached from the persistence context once
+     * consumed, so memory use does not grow with the size of the catalog.
+     */
+    @Transactional(readOnly = true)
+    public void exportProducts(Consumer<Product> consumer) {
+        try (Stream<Product> products = productRepository.streamAllOrderedById()) {
+            products.forEach(product -> {
+                consumer.accept(product);
+                entityManager.detach(product);
+            });
+        }
+    }
+
     /**
      * Get product by ID.
+     * Cached by id; the entry is evicted when the product is changed.
      * @throws ResourceNotFoundException if product not found
      */
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#id", sync = true)
     public Product getProductById(Long id) {
         return productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
@@ -53,7 +146,9 @@ public class ProductService {
      */
     @Transactional
     public Product createProduct(Product product) {
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(savedProduct));
+        return savedProduct;
     }
 
     /**
@@ -63,6 +158,7 @@ public class ProductService {
     @Transactional
     public Product updateProduct(Long id, Product productDetails) {
         Product product = getProductById(id);
+        ProductChangedEvent.State before = ProductChangedEvent.State.of(product);
         
         product.setName(productDetails.getName());
         product.setDescription(productDetails.getDescription());
@@ -70,7 +166,9 @@ public class ProductService {
         product.setCategory(productDetails.getCategory());
         product.setStockQuantity(productDetails.getStockQuantity());
         
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(savedProduct, before));
+        return savedProduct;
     }
 
     /**
@@ -81,32 +179,260 @@ public class ProductService {
     public void deleteProduct(Long id) {
         Product product = getProductById(id);
         productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.removed(product));
     }
 
     /**
      * Find products by category.
+     * Served from the columnar catalog when it is enabled and loaded. Otherwise cached per category;
+     * the entry is evicted when a product enters, leaves or changes within the category.
      */
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_BY_CATEGORY, key = "#category", sync = true,
+            condition = "!@productCatalog.isReady()")
     public List<Product> getProductsByCategory(String category) {
+        if (productCatalog.isReady()) {
+            return productCatalog.findByCategory(category);
+        }
         return productRepository.findByCategory(category);
     }
 
     /**
      * Find products with price less than the specified value.
+     * Served from the columnar catalog when it is enabled and loaded. Otherwise cached per price;
+     * all entries are dropped when any product changes.
      */
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_BY_MAX_PRICE, sync = true,
+            key = "@productCacheInvalidationListener.priceListingsVersion() + ':' + #price",
+            condition = "!@productCatalog.isReady()")
     public List<Product> getProductsWithPriceLessThan(Double price) {
+        if (productCatalog.isReady()) {
+            return productCatalog.findByPriceLessThan(price);
+        }
         return productRepository.findByPriceLessThan(price);
     }
 
     /**
-     * Search products by name (case insensitive).
+     * Search products by name (case insensitive), most relevant first.
+     * Served from the in-memory trigram index; while the index is still being built
+     * the database is queried instead, without relevance ranking.
+     * @param name The text the product name must contain
+     * @param limit The maximum number of products to return
      */
-    public List<Product> searchProductsByName(String name) {
-        return productRepository.searchByNameContainingIgnoreCase(name);
+    public List<Product> searchProductsByName(String name, int limit) {
+        if (!productNameIndex.isReady()) {
+            return productRepository.searchByNameContainingIgnoreCase(name, PageRequest.of(0, limit));
+        }
+
+        return findAllInOrder(productNameIndex.search(name, limit));
+    }
+
+    /**
+     * Find products with min &lt;= price &lt; max, cheapest first (ties by id).
+     * Served from the in-memory price index, so only the returned page of products is loaded;
+     * while the index is not available the database sorts and pages instead.
+     * @param min The lowest price to include, or null for no lower bound
+     * @param max The price all products must be below, or null for no upper bound
+     * @param limit The maximum number of products to return
+     */
+    public List<Product> getProductsByPriceRange(Double min, Double max, int limit) {
+        if (!productPriceIndex.isReady()) {
+            return productRepository.findByPriceRange(min, max, PageRequest.of(0, limit));
+        }
+        return findAllInOrder(productPriceIndex.findByPriceRange(min, max, limit));
+    }
+
+    /**
+     * Find the cheapest products of a category, cheapest first (ties by id).
+     * @param category The category
+     * @param limit The number of products to return
+     * @see #getProductsByPriceRange(Double, Double, int)
+     */
+    public List<Product> getCheapestProductsInCategory(String category, int limit) {
+        if (!productPriceIndex.isReady()) {
+            return productRepository.findByCategoryOrderByPriceAscIdAsc(category, PageRequest.of(0, limit));
+        }
+        return findAllInOrder(productPriceIndex.findCheapestInCategory(category, limit));
+    }
+
+    /**
+     * Load the products with the given ids, in the order of the ids.
+     */
+    private List<Product> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> positions = positions(ids);
+        return productRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(product -> positions.get(product.getId())))
+                .toList();
     }
     
+    /**
+     * Product count, price range, average price and total stock of every category, ordered by category.
+     * Served from the incrementally maintained aggregates; when those are disabled, computed by the
+     * database with one grouped query.
+     */
+    public List<CategoryStats> getCategoryStats() {
+        if (categoryStatistics.isReady()) {
+            return categoryStatistics.getStats();
+        }
+        return productRepository.aggregateByCategory().stream()
+                .map(row -> new CategoryStats(
+                        (String) row[0],
+                        ((Number) row[1]).longValue(),
+                        (Double) row[2],
+                        (Double) row[3],
+                        row[4] != null ? ((Number) row[4]).doubleValue() : null,
+                        row[5] != null ? ((Number) row[5]).longValue() : 0L))
+                .toList();
+    }
+
+    /**
+     * Get all products, with only the selected fields.
+     * Like the other sparse fieldset queries, this selects only the columns of the requested
+     * fields (plus id and version) and bypasses the product caches.
+     * @param fields the fields to return; id is always included
+     * @throws InvalidFieldsException if a field cannot be selected
+     */
+    public List<PartialProduct> getAllProductFields(List<String> fields) {
+        return findFields(fields, null, Sort.by("id"), 0);
+    }
+
+    /**
+     * Get a page of products ordered by id, with only the selected fields.
+     * @see #getProductsAfter(Long, int)
+     * @see #getAllProductFields(List)
+     */
+    public List<PartialProduct> getProductFieldsAfter(Long afterId, int limit, List<String> fields) {
+        long cursor = afterId != null ? afterId : 0L;
+        return findFields(fields, (root, query, cb) -> cb.greaterThan(root.<Long>get("id"), cursor),
+                Sort.by("id"), limit);
+    }
+
+    /**
+     * Find products by category, with only the selected fields.
+     * @see #getAllProductFields(List)
+     */
+    public List<PartialProduct> getProductFieldsByCategory(String category, List<String> fields) {
+        return findFields(fields, (root, query, cb) -> cb.equal(root.get("category"), category), Sort.unsorted(), 0);
+    }
+
+    /**
+     * Find products with price less than the specified value, with only the selected fields.
+     * @see #getAllProductFields(List)
+     */
+    public List<PartialProduct> getProductFieldsWithPriceLessThan(Double price, List<String> fields) {
+        return findFields(fields, (root, query, cb) -> cb.lessThan(root.<Double>get("price"), price),
+                Sort.unsorted(), 0);
+    }
+
+    /**
+     * Search products by name, most relevant first, with only the selected fields.
+     * @see #searchProductsByName(String, int)
+     * @see #getAllProductFields(List)
+     */
+    public List<PartialProduct> searchProductFieldsByName(String name, int limit, List<String> fields) {
+        if (!productNameIndex.isReady()) {
+            String pattern = "%" + name.toLowerCase(Locale.ROOT) + "%";
+            return findFields(fields, (root, query, cb) -> cb.like(cb.lower(root.<String>get("name")), pattern),
+                    Sort.unsorted(), limit);
+        }
+
+        return findFieldsInOrder(productNameIndex.search(name, limit), fields);
+    }
+
+    /**
+     * Find products with min &lt;= price &lt; max, cheapest first, with only the selected fields.
+     * @see #getProductsByPriceRange(Double, Double, int)
+     * @see #getAllProductFields(List)
+     */
+    public List<PartialProduct> getProductFieldsByPriceRange(Double min, Double max, int limit, List<String> fields) {
+        if (!productPriceIndex.isReady()) {
+            return findFields(fields, (root, query, cb) -> cb.and(
+                            min != null ? cb.greaterThanOrEqualTo(root.<Double>get("price"), min) : cb.conjunction(),
+                            max != null ? cb.lessThan(root.<Double>get("price"), max) : cb.conjunction()),
+                    Sort.by("price", "id"), limit);
+        }
+        return findFieldsInOrder(productPriceIndex.findByPriceRange(min, max, limit), fields);
+    }
+
+    /**
+     * Select the requested fields of the products with the given ids, in the order of the ids.
+     */
+    private List<PartialProduct> findFieldsInOrder(List<Long> ids, List<String> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> positions = positions(ids);
+        return findFields(fields, (root, query, cb) -> root.get("id").in(ids), Sort.unsorted(), 0).stream()
+                .sorted(Comparator.comparing(product -> positions.get(product.getId())))
+                .toList();
+    }
+
+    private static Map<Long, Integer> positions(List<Long> ids) {
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+        return positions;
+    }
+
+    /**
+     * Select the requested fields, plus the id and version every partial product carries.
+     */
+    private List<PartialProduct> findFields(List<String> fields, Specification<Product> specification,
+                                            Sort sort, int limit) {
+        Set<String> selected = selectedFields(fields);
+        List<String> attributes = new ArrayList<>(selected);
+        if (!selected.contains("version")) {
+            attributes.add("version");
+        }
+
+        List<Map<String, Object>> rows = productRepository.findAttributes(attributes, specification, sort, limit);
+        List<PartialProduct> result = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Long id = (Long) row.get("id");
+            Long version = (Long) row.get("version");
+            row.keySet().retainAll(selected);
+            result.add(new PartialProduct(id, version, row));
+        }
+        return result;
+    }
+
+    /**
+     * The distinct requested fields, in request order, with id first.
+     * @throws InvalidFieldsException if a field cannot be selected
+     */
+    private static Set<String> selectedFields(List<String> fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        List<String> unknown = new ArrayList<>();
+        for (String field : fields) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (SELECTABLE_FIELDS.contains(name)) {
+                selected.add(name);
+            } else {
+                unknown.add(name);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new InvalidFieldsException("Unknown fields: " + String.join(", ", unknown)
+                    + "; selectable fields are " + String.join(", ", SELECTABLE_FIELDS.stream().sorted().toList()));
+        }
+        return selected;
+    }
+
     /**
      * Check if a product is in stock.
      * This method demonstrates microservice communication using Feign client.
+     * Answers are served from a short-lived near-cache, which the inventory service
+     * invalidates whenever the stock of a product changes. Calls that do reach the inventory
+     * service go through a circuit breaker, so a slow or failing inventory service is answered
+     * quickly with the last known result. Last-known answers are not put in the near-cache,
+     * so the next check asks the inventory service again.
      * 
      * @param productCode The product code to check
      * @param quantity The required quantity
@@ -114,16 +440,111 @@ public class ProductService {
      */
     public boolean isProductInStock(String productCode, Integer quantity) {
         try {
-            ResponseEntity<Map<String, Boolean>> response = inventoryClient.checkStock(productCode, quantity);
-            if (response.getBody() != null) {
-                return response.getBody().getOrDefault("inStock", false);
-            }
-            return false;
+            return stockAvailabilityCache.get(productCode, quantity,
+                    () -> inventoryClient.checkStock(productCode, quantity));
         } catch (Exception e) {
-            // Handle communication errors (e.g., inventory service is down)
-            // In a real-world scenario, you might want to implement circuit breaker pattern
-            // using libraries like Resilience4j or Spring Cloud Circuit Breaker
+            // Communication errors are normally handled by the circuit breaker fallback;
+            // anything that still gets through is treated as "not in stock"
             return false;
         }
     }
+
+    /**
+     * Check stock for several products (e.g. a whole cart) with a single call to the inventory service.
+     *
+     * @param quantities The required quantity per product code
+     * @return a map from product code to whether it is in stock; when the inventory service
+     *         cannot be reached, the last known answer per product (or false) is reported
+     */
+    public Map<String, Boolean> areProductsInStock(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return Map.of();
+        }
+        return inventoryClient.checkStockBulk(quantities);
+    }
+
+    /**
+     * Check stock for several products with concurrent single-product lookups.
+     * Unlike {@link #areProductsInStock}, every product goes through the near-cache, so only
+     * the products without a cached answer reach the inventory service. The lookups run in
+     * parallel (at most the async client's max-concurrency at a time), so the whole check takes
+     * about as long as the slowest single lookup, and never longer than the async client's deadline.
+     * Lookups still outstanding at the deadline are cancelled.
+     *
+     * @param quantities The required quantity per product code
+     * @return a map from product code to whether it is in stock; products whose lookup failed
+     *         or did not finish before the deadline are reported as not in stock
+     */
+    public Map<String, Boolean> areProductsInStockConcurrently(Map<String, Integer> quantities) {
+        AsyncInventoryClient.FanOut fanOut = asyncInventoryClient.fanOut();
+        Map<String, CompletableFuture<Boolean>> lookups = new LinkedHashMap<>();
+        quantities.forEach((productCode, quantity) -> lookups.put(productCode,
+                stockAvailabilityCache.getAsync(productCode, quantity,
+                                () -> fanOut.checkStock(productCode, quantity))
+                        .exceptionally(e -> false)));
+
+        try {
+            CompletableFuture.allOf(lookups.values().toArray(CompletableFuture[]::new))
+                    .get(asyncInventoryClient.deadline().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Report what has finished
+        } catch (ExecutionException e) {
+            // Cannot happen: every lookup already maps its failure to false
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Free the pool from calls nobody waits for any more
+            fanOut.cancel();
+        }
+
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        lookups.forEach((productCode, lookup) -> result.put(productCode, lookup.getNow(false)));
+        return result;
+    }
+
+    /**
+     * Add the inventory availability to a list of products.
+     * The quantities for a whole page are fetched with a single call to the inventory service
+     * (one call per {@value #STOCK_LOOKUP_BATCH_SIZE} products for longer lists), instead of one
+     * call per product. When the inventory service cannot be reached, the availability of the
+     * affected products is left empty (null) rather than failing the listing.
+     *
+     * @param products The products, in the order they are to be returned
+     */
+    public List<ProductWithStock> withStock(List<Product> products) {
+        List<ProductWithStock> result = new ArrayList<>(products.size());
+        Map<Long, Integer> quantities = availableQuantities(products.stream().map(Product::getId).toList());
+        for (Product product : products) {
+            Integer quantity = quantities.get(product.getId());
+            result.add(new ProductWithStock(product, quantity, quantity != null ? quantity > 0 : null));
+        }
+        return result;
+    }
+
+    /**
+     * Add the inventory availability (availableQuantity, inStock) to the fields of partial products.
+     * @see #withStock(List)
+     */
+    public List<PartialProduct> withStockFields(List<PartialProduct> products) {
+        Map<Long, Integer> quantities = availableQuantities(products.stream().map(PartialProduct::getId).toList());
+        for (PartialProduct product : products) {
+            Integer quantity = quantities.get(product.getId());
+            product.getFields().put("availableQuantity", quantity);
+            product.getFields().put("inStock", quantity != null ? quantity > 0 : null);
+        }
+        return products;
+    }
+
+    /**
+     * Fetch the available quantities of the products, one call per batch of product ids.
+     * Products whose availability could not be fetched are missing from the result.
+     */
+    private Map<Long, Integer> availableQuantities(List<Long> productIds) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (int from = 0; from < productIds.size(); from += STOCK_LOOKUP_BATCH_SIZE) {
+            List<Long> batch = productIds.subList(from, Math.min(from + STOCK_LOOKUP_BATCH_SIZE, productIds.size()));
+            quantities.putAll(inventoryClient.getAvailableQuantities(batch.stream().distinct().toList()));
+        }
+        return quantities;
+    }
 }
@@ -0,0 +1,169 @@
+package com.example.joblearning.stats;
+
+import com.example.joblearning.dto.CategoryStats;
+import com.example.joblearning.event.ProductChangedEvent;
+import com.example.joblearning.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * In-memory per-category product statistics (count, min/max/average price, total stock).
+ * This class demonstrates:
+ * - Incrementally maintained aggregates (apply the delta of each change instead of recomputing)
+ * - Keeping a read model in sync through transaction-bound events
+ *
+ * The aggregates are loaded with one grouped query before the application starts serving requests,
+ * and then every committed product change takes the product's old values out of its old category
+ * and puts its new values into its new category. Count, price sum and stock total are updated in
+ * constant time; minimum and maximum need the category's prices kept in a sorted multiset, so that
+ * removing the cheapest product reveals the next cheapest (logarithmic in the distinct prices).
+ * Prices are summed as BigDecimal, so adding and removing the same price leaves no rounding drift.
+ *
+ * Readers get an immutable snapshot, rebuilt (one entry per category) on the first read after a
+ * change, so the cost of a read depends on the number of categories, not of products.
+ */
+@Component
+public class CategoryStatistics {
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final Map<String, Aggregate> aggregates = new HashMap<>();
+    private volatile List<CategoryStats> snapshot;
+    private volatile boolean loaded;
+
+    @Autowired
+    public CategoryStatistics(ProductRepository productRepository,
+                              @Value("${product-stats.enabled:true}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Rebuild all aggregates from the database.
+     */
+    @PostConstruct
+    public synchronized void load() {
+        if (!enabled) {
+            return;
+        }
+        aggregates.clear();
+        for (Object[] row : productRepository.countByCategoryAndPrice()) {
+            String category = (String) row[0];
+            double price = ((Number) row[1]).doubleValue();
+            long count = ((Number) row[2]).longValue();
+            long stock = row[3] != null ? ((Number) row[3]).longValue() : 0L;
+            aggregates.computeIfAbsent(category, c -> new Aggregate()).add(price, count, stock);
+        }
+        snapshot = null;
+        loaded = true;
+    }
+
+    /**
+     * Whether statistics can be answered from memory.
+     */
+    public boolean isReady() {
+        return loaded;
+    }
+
+    /**
+     * Statistics of every category with at least one product, ordered by category.
+     */
+    public List<CategoryStats> getStats() {
+        List<CategoryStats> current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    snapshot = buildSnapshot();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Apply a committed product change: remove the old values, add the new ones.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        remove(event.before());
+        add(event.after());
+        snapshot = null;
+    }
+
+    private void add(ProductChangedEvent.State state) {
+        if (state == null || state.category() == null || state.price() == null) {
+            return;
+        }
+        aggregates.computeIfAbsent(state.category(), c -> new Aggregate())
+                .add(state.price(), 1, stockOf(state));
+    }
+
+    private void remove(ProductChangedEvent.State state) {
+        if (state == null || state.category() == null || state.price() == null) {
+            return;
+        }
+        Aggregate aggregate = aggregates.get(state.category());
+        if (aggregate != null) {
+            aggregate.add(state.price(), -1, -stockOf(state));
+            if (aggregate.count <= 0) {
+                aggregates.remove(state.category());
+            }
+        }
+    }
+
+    private List<CategoryStats> buildSnapshot() {
+        List<CategoryStats> stats = new ArrayList<>(aggregates.size());
+        aggregates.forEach((category, aggregate) -> stats.add(aggregate.toStats(category)));
+        stats.sort(Comparator.comparing(CategoryStats::getCategory));
+        return List.copyOf(stats);
+    }
+
+    private static long stockOf(ProductChangedEvent.State state) {
+        return state.stockQuantity() != null ? state.stockQuantity() : 0L;
+    }
+
+    /**
+     * Running totals of one category, and the number of its products at each price.
+     */
+    private static final class Aggregate {
+
+        private final TreeMap<Double, Long> priceCounts = new TreeMap<>();
+        private long count;
+        private BigDecimal priceSum = BigDecimal.ZERO;
+        private long stockSum;
+
+        /**
+         * Add (or, with a negative count and stock, remove) products at the given price.
+         */
+        void add(double price, long productCount, long stock) {
+            priceCounts.merge(price, productCount, (a, b) -> a + b == 0 ? null : a + b);
+            count += productCount;
+            priceSum = priceSum.add(BigDecimal.valueOf(price).multiply(BigDecimal.valueOf(productCount)));
+            stockSum += stock;
+        }
+
+        CategoryStats toStats(String category) {
+            if (count == 0 || priceCounts.isEmpty()) {
+                return new CategoryStats(category, 0, null, null, null, stockSum);
+            }
+            double average = priceSum.divide(BigDecimal.valueOf(count), MathContext.DECIMAL64).doubleValue();
+            return new CategoryStats(category, count, priceCounts.firstKey(), priceCounts.lastKey(), average, stockSum);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+-- Product schema, as Hibernate generates it for the Product entity (H2 dialect).
+-- Used by the fast-start profile instead of spring.jpa.hibernate.ddl-auto=update.
+
+create sequence products_seq start with 1 increment by 50;
+
+create table products (
+    id bigint not null,
+    name varchar(255),
+    description varchar(255),
+    price float(53),
+    category varchar(255),
+    stock_quantity integer,
+    version bigint,
+    last_modified timestamp(6) with time zone,
+    primary key (id)
+);
+
+create index idx_products_category on products (category);
+create index idx_products_price on products (price);
+create index idx_products_stock_quantity on products (stock_quantity);
@@ -0,0 +1,169 @@
+package com.example.joblearning.benchmark;
+
+import com.example.joblearning.JobLearningApplication;
+import com.example.joblearning.model.Product;
+import com.example.joblearning.service.ProductService;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Load test comparing the default Tomcat thread pool with the virtual-threads profile.
+ * This class demonstrates:
+ * - Driving many concurrent HTTP connections from virtual threads
+ * - Measuring request throughput of a running Spring Boot application
+ * - Standing in for a slow downstream service with an embedded HTTP server
+ *
+ * Every request lists products withStock=true, so it blocks on a call to inventory-service.
+ * That service is replaced by a stub answering after a fixed delay: this is the waiting that
+ * virtual threads make cheap. The service is started twice on a random port, once per mode,
+ * and hit with the same load. Both runs get the same bulkhead limit, high enough not to reject
+ * calls, so the thread model is the only difference. A response without stock (the fallback)
+ * counts as an error.
+ * Run with: mvn test -Pbenchmark -Dtest=VirtualThreadsLoadBenchmarkTest
+ * (options: -Dloadtest.connections=5000 -Dloadtest.seconds=20 -Dloadtest.inventory-delay-ms=100);
+ * the client needs an open file limit above the number of connections (ulimit -n).
+ */
+@Tag("benchmark")
+public class VirtualThreadsLoadBenchmarkTest {
+
+    private static final int CONNECTIONS = Integer.getInteger("loadtest.connections", 5000);
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 20);
+    private static final int INVENTORY_DELAY_MILLIS = Integer.getInteger("loadtest.inventory-delay-ms", 100);
+    private static final String CATEGORY = "Load-Test";
+
+    @Test
+    void throughput_PlatformThreadsVersusVirtualThreads() throws Exception {
+        HttpServer inventoryStub = inventoryStub();
+        try {
+            String inventoryUrl = "--inventory-service.url=http://localhost:" + inventoryStub.getAddress().getPort();
+            LoadResult platform = run(inventoryUrl);
+            LoadResult virtual = run(inventoryUrl, "--spring.profiles.active=virtual-threads");
+
+            System.out.printf("%nGET /api/products/category/%s?withStock=true with %d concurrent connections for %d s"
+                    + " (inventory-service answering after %d ms)%n", CATEGORY, CONNECTIONS, SECONDS, INVENTORY_DELAY_MILLIS);
+            System.out.printf("%-18s %12s %12s %10s%n", "mode", "requests/s", "mean (ms)", "errors");
+            platform.print("platform threads");
+            virtual.print("virtual threads");
+        } finally {
+            inventoryStub.stop(0);
+        }
+    }
+
+    /**
+     * Stand-in for POST /api/inventory/availability: 10 units of every requested product id,
+     * answered after the configured delay on a virtual thread per request.
+     */
+    private static HttpServer inventoryStub() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 10_000);
+        server.createContext("/api/inventory/availability", exchange -> {
+            String productIds = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            try {
+                Thread.sleep(INVENTORY_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = Arrays.stream(productIds.replaceAll("[\\[\\]\\s]", "").split(","))
+                    .filter(id -> !id.isEmpty())
+                    .map(id -> "\"" + id + "\":10")
+                    .collect(Collectors.joining(",", "{", "}"))
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        return server;
+    }
+
+    private static LoadResult run(String... extraArgs) throws Exception {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--product-search.index.enabled=false",
+                "--spring.cloud.openfeign.client.config.inventory-service.read-timeout=30000",
+                "--resilience4j.circuitbreaker.instances.inventory-service.failure-rate-threshold=100",
+                "--resilience4j.circuitbreaker.instances.inventory-service.slow-call-duration-threshold=30s",
+                "--resilience4j.bulkhead.instances.inventory-service.max-concurrent-calls=" + (CONNECTIONS * 2)));
+        args.addAll(List.of(extraArgs));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(JobLearningApplication.class)
+                .run(args.toArray(String[]::new))) {
+            context.getBean(ProductService.class)
+                    .createProduct(new Product(null, "Load Test Product", "Description", 9.99, CATEGORY, 10));
+            String port = context.getEnvironment().getProperty("local.server.port");
+            URI uri = URI.create("http://localhost:" + port + "/api/products/category/" + CATEGORY + "?withStock=true");
+            return load(uri);
+        }
+    }
+
+    private static LoadResult load(URI uri) throws Exception {
+        LongAdder completed = new LongAdder();
+        LongAdder errors = new LongAdder();
+        LongAdder totalNanos = new LongAdder();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clients)
+                    .build();
+            long deadline = System.nanoTime() + Duration.ofSeconds(SECONDS).toNanos();
+            List<Future<?>> connections = new ArrayList<>(CONNECTIONS);
+            for (int i = 0; i < CONNECTIONS; i++) {
+                connections.add(clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                            if (response.statusCode() == 200 && response.body().contains("\"inStock\":true")) {
+                                completed.increment();
+                                totalNanos.add(System.nanoTime() - start);
+                            } else {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> connection : connections) {
+                connection.get();
+            }
+        }
+        return new LoadResult(completed.sum(), errors.sum(), totalNanos.sum());
+    }
+
+    private record LoadResult(long completed, long errors, long totalNanos) {
+
+        void print(String mode) {
+            double meanMillis = completed == 0 ? 0 : totalNanos / 1_000_000.0 / completed;
+            System.out.printf("%-18s %12.0f %12.2f %10d%n", mode, (double) completed / SECONDS, meanMillis, errors);
+        }
+    }
+}
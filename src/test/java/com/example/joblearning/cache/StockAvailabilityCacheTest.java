@@ -0,0 +1,72 @@
+package com.example.joblearning.cache;
+
+import com.example.joblearning.client.StockAnswer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StockAvailabilityCache.
+ * This class demonstrates:
+ * - Testing size bounds and invalidation of a near-cache without the rest of the application
+ */
+public class StockAvailabilityCacheTest {
+
+    @Test
+    void get_ManyQuantitiesOfOneCode_ShouldStayWithinMaximumSize() {
+        // Arrange
+        StockAvailabilityCache cache = new StockAvailabilityCache(Duration.ofMinutes(1), 100);
+
+        // Act
+        for (int quantity = 1; quantity <= 1000; quantity++) {
+            cache.get("PROD-001", quantity, () -> StockAnswer.live(true));
+        }
+
+        // Assert
+        assertTrue(cache.stats().size() <= 100, "size was " + cache.stats().size());
+        assertTrue(cache.stats().evictions() >= 900);
+    }
+
+    @Test
+    void invalidate_ShouldDropEveryQuantityOfTheCodeOnly() {
+        // Arrange
+        StockAvailabilityCache cache = new StockAvailabilityCache(Duration.ofMinutes(1), 100);
+        AtomicInteger loads = new AtomicInteger();
+        for (int quantity = 1; quantity <= 3; quantity++) {
+            cache.get("PROD-001", quantity, () -> StockAnswer.live(loads.incrementAndGet() > 0));
+        }
+        cache.get("PROD-002", 1, () -> StockAnswer.live(loads.incrementAndGet() > 0));
+
+        // Act
+        cache.invalidate(List.of("PROD-001"));
+
+        // Assert
+        for (int quantity = 1; quantity <= 3; quantity++) {
+            cache.get("PROD-001", quantity, () -> StockAnswer.live(loads.incrementAndGet() > 0));
+        }
+        cache.get("PROD-002", 1, () -> StockAnswer.live(loads.incrementAndGet() > 0));
+        assertEquals(7, loads.get());
+    }
+
+    @Test
+    void getAsync_WhenInvalidatedWhileLoading_ShouldNotCacheResult() {
+        // Arrange
+        StockAvailabilityCache cache = new StockAvailabilityCache(Duration.ofMinutes(1), 100);
+        CompletableFuture<StockAnswer> pending = new CompletableFuture<>();
+        CompletableFuture<Boolean> lookup = cache.getAsync("PROD-001", 1, () -> pending);
+
+        // Act
+        cache.invalidate(List.of("PROD-001"));
+        pending.complete(StockAnswer.live(true));
+
+        // Assert
+        assertTrue(lookup.join());
+        assertFalse(cache.get("PROD-001", 1, () -> StockAnswer.live(false)));
+        assertEquals(0, cache.stats().hits());
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.joblearning.catalog;
+
+import com.example.joblearning.event.ProductChangedEvent;
+import com.example.joblearning.model.Product;
+import com.example.joblearning.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProductCatalog and ProductCatalogSnapshot.
+ * This class demonstrates:
+ * - Testing a columnar read model in isolation
+ * - Driving scheduled refreshes by hand instead of waiting for them
+ */
+@ExtendWith(MockitoExtension.class)
+public class ProductCatalogTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ScheduledExecutorService refresher;
+
+    private ProductCatalog productCatalog;
+
+    @BeforeEach
+    void setUp() {
+        productCatalog = new ProductCatalog(productRepository, true, 1000, Duration.ofMillis(200), refresher);
+    }
+
+    @Test
+    void load_ShouldAnswerFiltersInIdOrder() {
+        // Arrange
+        loadCatalog(
+                new Product(1L, "Mouse", null, 20.0, "Electronics", 5),
+                new Product(2L, "Novel", null, 12.5, "Books", null),
+                new Product(3L, "Cable", null, 5.0, "Electronics", 100),
+                new Product(4L, "Gift Card", null, 25.0, null, 1));
+
+        // Act & Assert
+        assertTrue(productCatalog.isReady());
+        assertEquals(4, productCatalog.size());
+        assertEquals(List.of(1L, 3L), ids(productCatalog.findByCategory("Electronics")));
+        assertEquals(List.of(), productCatalog.findByCategory("Garden"));
+        assertEquals(List.of(2L, 3L), ids(productCatalog.findByPriceLessThan(15.0)));
+
+        Product novel = productCatalog.findByCategory("Books").get(0);
+        assertEquals(new Product(2L, "Novel", null, 12.5, "Books", null), novel);
+    }
+
+    @Test
+    void refresh_ShouldMergePendingChangesIntoNewSnapshot() {
+        // Arrange
+        loadCatalog(
+                new Product(1L, "Mouse", null, 20.0, "Electronics", 5),
+                new Product(3L, "Cable", null, 5.0, "Electronics", 100));
+        Product movedMouse = new Product(1L, "Mouse", null, 20.0, "Accessories", 5);
+        Product newKeyboard = new Product(2L, "Keyboard", null, 40.0, "Electronics", 3);
+        when(productRepository.findAllById(any())).thenReturn(List.of(newKeyboard, movedMouse));
+
+        // Act
+        productCatalog.onProductChanged(ProductChangedEvent.saved(movedMouse));
+        productCatalog.onProductChanged(ProductChangedEvent.saved(newKeyboard));
+        productCatalog.onProductChanged(
+                ProductChangedEvent.removed(new Product(3L, "Cable", null, 5.0, "Electronics", 100)));
+        productCatalog.refresh();
+
+        // Assert
+        verify(refresher, times(1)).schedule(any(Runnable.class), eq(200L), any());
+        assertEquals(2, productCatalog.size());
+        assertEquals(List.of(2L), ids(productCatalog.findByCategory("Electronics")));
+        assertEquals(List.of(1L), ids(productCatalog.findByCategory("Accessories")));
+    }
+
+    @Test
+    void refresh_WhenDatabaseFails_ShouldKeepChangesPending() {
+        // Arrange
+        loadCatalog(new Product(1L, "Mouse", null, 20.0, "Electronics", 5));
+        Product cheaperMouse = new Product(1L, "Mouse", null, 15.0, "Electronics", 5);
+        when(productRepository.findAllById(any()))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"))
+                .thenReturn(List.of(cheaperMouse));
+        productCatalog.onProductChanged(ProductChangedEvent.saved(cheaperMouse));
+
+        // Act
+        productCatalog.refresh();
+        productCatalog.refresh();
+
+        // Assert
+        assertEquals(15.0, productCatalog.findByPriceLessThan(100.0).get(0).getPrice());
+    }
+
+    @Test
+    void parallelScan_ShouldMatchSequentialScan() {
+        // Arrange
+        ProductCatalogSnapshot.Builder builder = new ProductCatalogSnapshot.Builder();
+        int rows = ProductCatalogSnapshot.CHUNK_SIZE * 3 + 17;
+        for (int i = 1; i <= rows; i++) {
+            builder.add(new Product((long) i, "Product " + i, null, (double) (i % 100), "Category-" + (i % 10), i));
+        }
+        ProductCatalogSnapshot snapshot = builder.build();
+
+        // Act & Assert
+        assertEquals(10, snapshot.categoryCount());
+        assertArrayEquals(snapshot.findByCategory("Category-3", false), snapshot.findByCategory("Category-3", true));
+        assertArrayEquals(snapshot.findByPriceLessThan(5.0, false), snapshot.findByPriceLessThan(5.0, true));
+    }
+
+    @Test
+    void withChanges_ShouldLeaveOriginalSnapshotUnchanged() {
+        // Arrange
+        ProductCatalogSnapshot original = new ProductCatalogSnapshot.Builder()
+                .add(new Product(1L, "Mouse", null, 20.0, "Electronics", 5))
+                .add(new Product(2L, "Novel", null, 12.5, "Books", 2))
+                .build();
+
+        // Act
+        ProductCatalogSnapshot changed = original.withChanges(
+                List.of(new Product(2L, "Novel", null, 9.0, "Books", 2)), List.of(1L));
+
+        // Assert
+        assertEquals(2, original.size());
+        assertEquals(12.5, original.product(1).getPrice());
+        assertEquals(1, changed.size());
+        assertEquals(9.0, changed.product(0).getPrice());
+    }
+
+    private void loadCatalog(Product... products) {
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 1000)))
+                .thenReturn(Arrays.asList(products));
+        productCatalog.load();
+    }
+
+    private static List<Long> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+}
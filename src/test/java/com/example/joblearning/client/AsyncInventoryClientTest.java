@@ -0,0 +1,152 @@
+package com.example.joblearning.client;
+
+import com.example.joblearning.config.InventoryClientConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AsyncInventoryClient.
+ * This class demonstrates:
+ * - Testing parallel fan-out, its concurrency bound and its cancellation
+ */
+@ExtendWith(MockitoExtension.class)
+public class AsyncInventoryClientTest {
+
+    private static final int MAX_CONCURRENCY = 4;
+    private static final long CALL_MILLIS = 200;
+
+    @Mock
+    private ResilientInventoryClient inventoryClient;
+
+    private ExecutorService executor;
+    private AsyncInventoryClient asyncInventoryClient;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        executor = new InventoryClientConfig().inventoryClientExecutor(4 * MAX_CONCURRENCY, 100);
+        asyncInventoryClient = new AsyncInventoryClient(inventoryClient, executor, MAX_CONCURRENCY, Duration.ofSeconds(1));
+        lenient().when(inventoryClient.checkStock(anyString(), anyInt())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(CALL_MILLIS);
+            inFlight.decrementAndGet();
+            return StockAnswer.live(true);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void fanOut_ForSeveralProducts_ShouldTakeAboutAsLongAsOneCall() {
+        // Act
+        AsyncInventoryClient.FanOut fanOut = asyncInventoryClient.fanOut();
+        long start = System.nanoTime();
+        List<CompletableFuture<StockAnswer>> lookups = new ArrayList<>();
+        for (int i = 0; i < MAX_CONCURRENCY; i++) {
+            lookups.add(fanOut.checkStock("PROD-" + i, 1));
+        }
+        lookups.forEach(CompletableFuture::join);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(elapsedMillis < 2 * CALL_MILLIS, "took " + elapsedMillis + " ms");
+        assertTrue(lookups.stream().allMatch(lookup -> lookup.join().inStock()));
+    }
+
+    @Test
+    void fanOut_ShouldNotExceedMaxConcurrency() {
+        // Act: the shared pool has room for more, the fan-out must hold its calls back
+        AsyncInventoryClient.FanOut fanOut = asyncInventoryClient.fanOut();
+        List<CompletableFuture<StockAnswer>> lookups = new ArrayList<>();
+        for (int i = 0; i < 3 * MAX_CONCURRENCY; i++) {
+            lookups.add(fanOut.checkStock("PROD-" + i, 1));
+        }
+        lookups.forEach(CompletableFuture::join);
+
+        // Assert
+        assertEquals(MAX_CONCURRENCY, maxInFlight.get());
+        verify(inventoryClient, times(3 * MAX_CONCURRENCY)).checkStock(anyString(), anyInt());
+    }
+
+    @Test
+    void fanOut_OnVirtualThreads_ShouldNotExceedMaxConcurrency() {
+        // Arrange: a virtual thread per call, as under the virtual-threads profile
+        executor.shutdownNow();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        asyncInventoryClient = new AsyncInventoryClient(inventoryClient, executor, MAX_CONCURRENCY, Duration.ofSeconds(1));
+
+        // Act
+        AsyncInventoryClient.FanOut fanOut = asyncInventoryClient.fanOut();
+        List<CompletableFuture<StockAnswer>> lookups = new ArrayList<>();
+        for (int i = 0; i < 3 * MAX_CONCURRENCY; i++) {
+            lookups.add(fanOut.checkStock("PROD-" + i, 1));
+        }
+        lookups.forEach(CompletableFuture::join);
+
+        // Assert
+        assertEquals(MAX_CONCURRENCY, maxInFlight.get());
+        assertTrue(lookups.stream().allMatch(lookup -> lookup.join().inStock()));
+    }
+
+    @Test
+    void cancel_ShouldNeverMakeWaitingCalls() throws Exception {
+        // Arrange
+        AsyncInventoryClient.FanOut fanOut = asyncInventoryClient.fanOut();
+        List<CompletableFuture<StockAnswer>> lookups = new ArrayList<>();
+        for (int i = 0; i < 3 * MAX_CONCURRENCY; i++) {
+            lookups.add(fanOut.checkStock("PROD-" + i, 1));
+        }
+
+        // Act
+        fanOut.cancel();
+        Thread.sleep(2 * CALL_MILLIS);
+
+        // Assert
+        assertTrue(lookups.stream().allMatch(CompletableFuture::isCancelled));
+        verify(inventoryClient, atMost(MAX_CONCURRENCY)).checkStock(anyString(), anyInt());
+        assertTrue(fanOut.checkStock("PROD-X", 1).isCancelled());
+    }
+
+    @Test
+    void fanOut_WhenPoolQueueIsFull_ShouldFailInsteadOfQueueing() {
+        // Arrange: one thread, no queue
+        executor.shutdownNow();
+        executor = new InventoryClientConfig().inventoryClientExecutor(1, 1);
+        asyncInventoryClient = new AsyncInventoryClient(inventoryClient, executor, MAX_CONCURRENCY, Duration.ofSeconds(1));
+        AsyncInventoryClient.FanOut fanOut = asyncInventoryClient.fanOut();
+
+        // Act
+        List<CompletableFuture<StockAnswer>> lookups = new ArrayList<>();
+        for (int i = 0; i < MAX_CONCURRENCY; i++) {
+            lookups.add(fanOut.checkStock("PROD-" + i, 1));
+        }
+
+        // Assert: one running, one queued, the rest rejected
+        long rejected = lookups.stream().filter(CompletableFuture::isCompletedExceptionally).count();
+        assertEquals(MAX_CONCURRENCY - 2, rejected);
+        assertTrue(lookups.get(0).join().inStock());
+        assertTrue(lookups.get(1).join().inStock());
+    }
+}
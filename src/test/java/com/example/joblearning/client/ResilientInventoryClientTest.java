@@ -0,0 +1,174 @@
+package com.example.joblearning.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ResilientInventoryClient against a local stub of the inventory service.
+ * This class demonstrates:
+ * - Integration testing of Feign clients against a stub HTTP server
+ * - Verifying circuit breaker, timeout and bulkhead behaviour
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.cloud.openfeign.client.config.inventory-service.read-timeout=300",
+        "resilience4j.circuitbreaker.instances.inventory-service.sliding-window-size=4",
+        "resilience4j.circuitbreaker.instances.inventory-service.minimum-number-of-calls=4",
+        "resilience4j.circuitbreaker.instances.inventory-service.wait-duration-in-open-state=1m",
+        "resilience4j.bulkhead.instances.inventory-service.max-concurrent-calls=1"
+})
+public class ResilientInventoryClientTest {
+
+    private static final HttpServer inventoryStub;
+    private static final AtomicInteger requestCount = new AtomicInteger();
+    private static volatile int responseStatus;
+    private static volatile long responseDelayMillis;
+    private static volatile CountDownLatch requestEntered;
+    private static volatile CountDownLatch releaseResponse;
+
+    static {
+        try {
+            inventoryStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        inventoryStub.createContext("/api/inventory/check-stock", exchange -> {
+            requestCount.incrementAndGet();
+            requestEntered.countDown();
+            try {
+                releaseResponse.await(5, TimeUnit.SECONDS);
+                Thread.sleep(responseDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"inStock\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(responseStatus, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        inventoryStub.setExecutor(Executors.newCachedThreadPool());
+        inventoryStub.start();
+    }
+
+    @DynamicPropertySource
+    static void inventoryServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("inventory-service.url", () -> "http://localhost:" + inventoryStub.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        inventoryStub.stop(0);
+    }
+
+    @Autowired
+    private ResilientInventoryClient resilientInventoryClient;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = circuitBreakerRegistry.circuitBreaker(ResilientInventoryClient.INVENTORY_SERVICE);
+        circuitBreaker.reset();
+        requestCount.set(0);
+        responseStatus = 200;
+        responseDelayMillis = 0;
+        requestEntered = new CountDownLatch(1);
+        releaseResponse = new CountDownLatch(0);
+    }
+
+    @Test
+    void checkStock_WhenInventoryResponds_ShouldReturnAnswer() {
+        assertEquals(StockAnswer.live(true), resilientInventoryClient.checkStock("PROD-001", 1));
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    void checkStock_WhenInventoryIsSlow_ShouldTimeOutAndServeLastKnownAnswer() {
+        // Arrange
+        assertTrue(resilientInventoryClient.checkStock("PROD-002", 1).inStock());
+        responseDelayMillis = 2000;
+
+        // Act
+        long start = System.nanoTime();
+        StockAnswer answer = resilientInventoryClient.checkStock("PROD-002", 1);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertEquals(StockAnswer.lastKnown(true), answer, "last known answer should be served");
+        assertTrue(elapsedMillis < 1500, "call should be cut off by the read timeout, took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void checkStock_WhenInventoryKeepsFailing_ShouldOpenCircuitAndFailFast() {
+        // Arrange
+        responseStatus = 500;
+        double transitionsBefore = openTransitions();
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            assertFalse(resilientInventoryClient.checkStock("PROD-003", 1).inStock());
+        }
+        StockAnswer answer = resilientInventoryClient.checkStock("PROD-003", 1);
+
+        // Assert
+        assertEquals(StockAnswer.lastKnown(false), answer);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(4, requestCount.get(), "open circuit should not call the inventory service");
+        assertEquals(transitionsBefore + 1, openTransitions());
+    }
+
+    @Test
+    void checkStock_WhenBulkheadIsFull_ShouldRejectWithoutCallingInventory() throws Exception {
+        // Arrange: hold the only permitted call inside the stub
+        releaseResponse = new CountDownLatch(1);
+        CompletableFuture<StockAnswer> firstCall =
+                CompletableFuture.supplyAsync(() -> resilientInventoryClient.checkStock("PROD-004", 1));
+        assertTrue(requestEntered.await(5, TimeUnit.SECONDS));
+
+        // Act
+        StockAnswer secondCall = resilientInventoryClient.checkStock("PROD-004", 1);
+        releaseResponse.countDown();
+
+        // Assert
+        assertEquals(StockAnswer.lastKnown(false), secondCall);
+        assertTrue(firstCall.get(5, TimeUnit.SECONDS).inStock());
+        assertEquals(1, requestCount.get());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    private double openTransitions() {
+        Counter counter = meterRegistry.find("inventory.client.circuitbreaker.transitions")
+                .tags("from", "CLOSED", "to", "OPEN")
+                .counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
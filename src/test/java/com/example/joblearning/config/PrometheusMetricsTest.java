@@ -0,0 +1,46 @@
+package com.example.joblearning.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the metrics exposed at /actuator/prometheus.
+ * This class demonstrates:
+ * - Integration testing of actuator endpoints with MockMvc
+ * - Enabling metrics export in tests with @AutoConfigureObservability
+ */
+@SpringBootTest(properties = "product-search.index.enabled=false")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class PrometheusMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheus_ShouldExposeServiceRepositoryHibernateAndPoolMetrics() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/api/products/category/Electronics"))
+                .andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "product_service_seconds_bucket{application=\"product-service\",class=\"com.example.joblearning.service.ProductService\"")))
+                .andExpect(content().string(containsString("method=\"getProductsByCategory\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("hibernate_statements_total")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")));
+    }
+}
@@ -1,6 +1,13 @@
 package com.example.joblearning.controller;
 
+import com.example.joblearning.dto.BulkImportItemResult;
+import com.example.joblearning.dto.BulkImportResult;
+import com.example.joblearning.dto.CategoryStats;
+import com.example.joblearning.dto.PartialProduct;
+import com.example.joblearning.dto.ProductWithStock;
+import com.example.joblearning.exception.InvalidFieldsException;
 import com.example.joblearning.model.Product;
+import com.example.joblearning.service.ProductImportService;
 import com.example.joblearning.service.ProductService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,14 +15,24 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -38,6 +55,9 @@ public class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ProductImportService productImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -58,7 +78,7 @@ public class ProductControllerTest {
         when(productService.getAllProducts()).thenReturn(products);
 
         // Act & Assert
-        mockMvc.perform(get("/api/products"))
+        mockMvc.perform(get("/api/products?unpaged=true"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(2)))
@@ -70,6 +90,61 @@ public class ProductControllerTest {
         verify(productService, times(1)).getAllProducts();
     }
 
+    @Test
+    void getAllProducts_WithoutParameters_ShouldReturnFirstPage() throws Exception {
+        // Arrange
+        when(productService.getProductsAfter(null, 50)).thenReturn(Arrays.asList(product1, product2));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        verify(productService, times(1)).getProductsAfter(null, 50);
+        verify(productService, never()).getAllProducts();
+    }
+
+    @Test
+    void getAllProducts_WithFullPage_ShouldReturnNextCursor() throws Exception {
+        // Arrange
+        when(productService.getProductsAfter(1L, 1)).thenReturn(Arrays.asList(product2));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products?after=1&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "2"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(2)));
+
+        verify(productService, times(1)).getProductsAfter(1L, 1);
+    }
+
+    @Test
+    void exportProducts_ShouldStreamOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<Product> consumer = invocation.getArgument(0);
+            consumer.accept(product1);
+            consumer.accept(product2);
+            return null;
+        }).when(productService).exportProducts(any());
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        objectMapper.writeValueAsString(product1) + "\n" + objectMapper.writeValueAsString(product2) + "\n"));
+
+        verify(productService, times(1)).exportProducts(any());
+    }
+
     @Test
     void getProductById_WithValidId_ShouldReturnProduct() throws Exception {
         // Arrange
@@ -107,6 +182,53 @@ public class ProductControllerTest {
         verify(productService, times(1)).createProduct(any(Product.class));
     }
 
+    @Test
+    void importProducts_WithJsonArray_ShouldReturnPerItemResults() throws Exception {
+        // Arrange
+        List<Product> received = new ArrayList<>();
+        when(productImportService.importProducts(any())).thenAnswer(invocation -> {
+            Iterator<Product> products = invocation.getArgument(0);
+            products.forEachRemaining(received::add);
+            return new BulkImportResult(2, 0, 0, Arrays.asList(
+                    new BulkImportItemResult(0, BulkImportItemResult.Status.CREATED, 1L, null),
+                    new BulkImportItemResult(1, BulkImportItemResult.Status.CREATED, 2L, null)));
+        });
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Arrays.asList(product1, product2))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[1].status", is("CREATED")))
+                .andExpect(jsonPath("$.items[1].id", is(2)));
+
+        assertEquals(Arrays.asList(product1, product2), received);
+    }
+
+    @Test
+    void importProducts_WithNdjson_ShouldPassNullForUnreadableLines() throws Exception {
+        // Arrange
+        List<Product> received = new ArrayList<>();
+        when(productImportService.importProducts(any())).thenAnswer(invocation -> {
+            Iterator<Product> products = invocation.getArgument(0);
+            products.forEachRemaining(received::add);
+            return new BulkImportResult(0, 0, 0, List.of());
+        });
+        String body = objectMapper.writeValueAsString(product1) + "\n"
+                + "{\"name\": \"Broken\", \"price\": \"not a number\"}\n"
+                + objectMapper.writeValueAsString(product2) + "\n";
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andExpect(status().isOk());
+
+        assertEquals(Arrays.asList(product1, null, product2), received);
+    }
+
     @Test
     void updateProduct_WithValidData_ShouldReturnUpdatedProduct() throws Exception {
         // Arrange
@@ -153,6 +275,131 @@ public class ProductControllerTest {
                 .andExpect(jsonPath("$[0].category", is("Electronics")));
 
         verify(productService, times(1)).getProductsByCategory("Electronics");
+        verify(productService, never()).withStock(any());
+    }
+
+    @Test
+    void getProductById_ShouldReturnValidatorsAndHonorIfNoneMatch() throws Exception {
+        // Arrange
+        product1.setVersion(3L);
+        product1.setLastModified(Instant.parse("2024-05-01T10:15:30Z"));
+        when(productService.getProductById(1L)).thenReturn(product1);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Wed, 01 May 2024 10:15:30 GMT"))
+                .andExpect(jsonPath("$.version", is(3)));
+
+        mockMvc.perform(get("/api/products/1").header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/products/1").header(HttpHeaders.IF_NONE_MATCH, "\"1-2\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getProductsByCategory_ShouldReturnNotModifiedWhileListIsUnchanged() throws Exception {
+        // Arrange
+        product1.setVersion(1L);
+        product2.setVersion(1L);
+        when(productService.getProductsByCategory("Electronics")).thenReturn(Arrays.asList(product1, product2));
+        String eTag = mockMvc.perform(get("/api/products/category/Electronics"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/category/Electronics").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        product2.setVersion(2L);
+        mockMvc.perform(get("/api/products/category/Electronics").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
+    @Test
+    void getProductsByCategory_WithStock_ShouldAddAvailabilityToEveryProduct() throws Exception {
+        // Arrange
+        List<Product> products = Arrays.asList(product1, product2);
+        when(productService.getProductsByCategory("Electronics")).thenReturn(products);
+        when(productService.withStock(products)).thenReturn(Arrays.asList(
+                new ProductWithStock(product1, 5, true),
+                new ProductWithStock(product2, null, null)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/category/Electronics?withStock=true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].name", is("Test Product 1")))
+                .andExpect(jsonPath("$[0].availableQuantity", is(5)))
+                .andExpect(jsonPath("$[0].inStock", is(true)))
+                .andExpect(jsonPath("$[1].id", is(2)))
+                .andExpect(jsonPath("$[1].availableQuantity").value(nullValue()));
+
+        verify(productService, times(1)).withStock(products);
+    }
+
+    @Test
+    void getAllProducts_WithFields_ShouldReturnOnlySelectedFields() throws Exception {
+        // Arrange
+        List<String> fields = List.of("name", "price");
+        when(productService.getProductFieldsAfter(null, 2, fields)).thenReturn(Arrays.asList(
+                partialProduct(1L, 1L, "Test Product 1", 19.99),
+                partialProduct(2L, 4L, "Test Product 2", 29.99)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products?limit=2&fields=name,price"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(ProductController.NEXT_CURSOR_HEADER, "2"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].name", is("Test Product 1")))
+                .andExpect(jsonPath("$[0].price", is(19.99)))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].version").doesNotExist());
+
+        verify(productService, never()).getProductsAfter(any(), anyInt());
+    }
+
+    @Test
+    void getProductsByCategory_WithDifferentFields_ShouldReturnDifferentETags() throws Exception {
+        // Arrange
+        when(productService.getProductFieldsByCategory("Electronics", List.of("name")))
+                .thenReturn(List.of(partialProduct(1L, 1L, "Test Product 1", null)));
+        when(productService.getProductFieldsByCategory("Electronics", List.of("name", "price")))
+                .thenReturn(List.of(partialProduct(1L, 1L, "Test Product 1", 19.99)));
+        String eTag = mockMvc.perform(get("/api/products/category/Electronics?fields=name"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/category/Electronics?fields=name")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/products/category/Electronics?fields=name,price")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
+    @Test
+    void getProductsByPrice_WithUnknownField_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(productService.getProductFieldsWithPriceLessThan(25.0, List.of("name", "secret")))
+                .thenThrow(new InvalidFieldsException("Unknown fields: secret"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/price?max=25.0&fields=name,secret"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Unknown fields: secret")));
     }
 
     @Test
@@ -171,11 +418,65 @@ public class ProductControllerTest {
         verify(productService, times(1)).getProductsWithPriceLessThan(25.0);
     }
 
+    @Test
+    void getProductsByPrice_WithRangeAndSort_ShouldReturnCheapestFirst() throws Exception {
+        // Arrange
+        when(productService.getProductsByPriceRange(10.0, 50.0, 2)).thenReturn(Arrays.asList(product1, product2));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/price?min=10&max=50&sort=price&limit=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        verify(productService, never()).getProductsWithPriceLessThan(any());
+    }
+
+    @Test
+    void getProductsByPrice_WithUnknownSort_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/products/price?max=50&sort=name"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Cannot sort by: name (sortable: price)")));
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void getProductsByPrice_WithoutBounds_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/products/price?sort=price"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void getProductsByPrice_WithMinOnly_ShouldReturnRange() throws Exception {
+        // Arrange
+        when(productService.getProductsByPriceRange(20.0, null, 50)).thenReturn(Arrays.asList(product2));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/price?min=20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getCheapestProductsInCategory_ShouldCapLimit() throws Exception {
+        // Arrange
+        when(productService.getCheapestProductsInCategory("Electronics", 500)).thenReturn(Arrays.asList(product1));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/category/Electronics/cheapest?limit=10000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
     @Test
     void searchProducts_ShouldReturnMatchingProducts() throws Exception {
         // Arrange
         List<Product> products = Arrays.asList(product1, product2);
-        when(productService.searchProductsByName("Test")).thenReturn(products);
+        when(productService.searchProductsByName("Test", 50)).thenReturn(products);
 
         // Act & Assert
         mockMvc.perform(get("/api/products/search?name=Test"))
@@ -185,6 +486,67 @@ public class ProductControllerTest {
                 .andExpect(jsonPath("$[0].name", containsString("Test")))
                 .andExpect(jsonPath("$[1].name", containsString("Test")));
 
-        verify(productService, times(1)).searchProductsByName("Test");
+        verify(productService, times(1)).searchProductsByName("Test", 50);
+    }
+
+    @Test
+    void searchProducts_WithLimitAboveMaximum_ShouldCapLimit() throws Exception {
+        // Arrange
+        when(productService.searchProductsByName("Test", 500)).thenReturn(Arrays.asList(product1));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/search?name=Test&limit=10000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(productService, times(1)).searchProductsByName("Test", 500);
+    }
+
+    @Test
+    void getCategoryStats_ShouldReturnOneEntryPerCategory() throws Exception {
+        // Arrange
+        when(productService.getCategoryStats()).thenReturn(List.of(
+                new CategoryStats("Books", 1, 12.5, 12.5, 12.5, 4),
+                new CategoryStats("Electronics", 2, 10.0, 30.0, 20.0, 15)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/categories/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].category", is("Electronics")))
+                .andExpect(jsonPath("$[1].productCount", is(2)))
+                .andExpect(jsonPath("$[1].minPrice", is(10.0)))
+                .andExpect(jsonPath("$[1].maxPrice", is(30.0)))
+                .andExpect(jsonPath("$[1].totalStockQuantity", is(15)));
+    }
+
+    @Test
+    void checkStock_ShouldReturnAnswerPerProduct() throws Exception {
+        // Arrange
+        Map<String, Integer> cart = new LinkedHashMap<>();
+        cart.put("PROD-001", 2);
+        cart.put("PROD-002", 1);
+        Map<String, Boolean> answers = new LinkedHashMap<>();
+        answers.put("PROD-001", true);
+        answers.put("PROD-002", false);
+        when(productService.areProductsInStockConcurrently(cart)).thenReturn(answers);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/stock-check")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cart)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.PROD-001", is(true)))
+                .andExpect(jsonPath("$.PROD-002", is(false)));
+    }
+
+    private static PartialProduct partialProduct(Long id, Long version, String name, Double price) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("id", id);
+        fields.put("name", name);
+        if (price != null) {
+            fields.put("price", price);
+        }
+        return new PartialProduct(id, version, fields);
     }
 }
@@ -0,0 +1,136 @@
+package com.example.joblearning.search;
+
+import com.example.joblearning.event.ProductChangedEvent;
+import com.example.joblearning.model.Product;
+import com.example.joblearning.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProductNameIndex.
+ * This class demonstrates:
+ * - Testing an in-memory search index in isolation
+ */
+@ExtendWith(MockitoExtension.class)
+public class ProductNameIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductNameIndex productNameIndex;
+
+    @BeforeEach
+    void setUp() {
+        productNameIndex = new ProductNameIndex(productRepository, true);
+    }
+
+    @Test
+    void load_ShouldIndexAllPagesFromRepository() {
+        // Arrange
+        List<Product> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            firstPage.add(product(id, "Product " + id));
+        }
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 1000))).thenReturn(firstPage);
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(1000L, PageRequest.of(0, 1000)))
+                .thenReturn(Arrays.asList(product(1001L, "Wireless Mouse")));
+
+        // Act
+        productNameIndex.load();
+
+        // Assert
+        assertTrue(productNameIndex.isReady());
+        assertEquals(1001, productNameIndex.size());
+        assertEquals(List.of(1001L), productNameIndex.search("mouse", 10));
+    }
+
+    @Test
+    void search_ShouldMatchSubstringsIgnoringCase() {
+        // Arrange
+        loadEmpty();
+        productNameIndex.onProductChanged(ProductChangedEvent.saved(product(1L, "Gaming Keyboard")));
+        productNameIndex.onProductChanged(ProductChangedEvent.saved(product(2L, "Keycap Set")));
+        productNameIndex.onProductChanged(ProductChangedEvent.saved(product(3L, "Monitor")));
+
+        // Act & Assert
+        assertEquals(List.of(1L), productNameIndex.search("BOARD", 10));
+        assertEquals(List.of(2L, 1L), productNameIndex.search("key", 10));
+        assertEquals(List.of(3L), productNameIndex.search("mo", 10));
+        assertTrue(productNameIndex.search("keyboards", 10).isEmpty());
+    }
+
+    @Test
+    void search_ShouldRankExactThenPrefixThenWordStartThenOtherMatches() {
+        // Arrange
+        loadEmpty();
+        productNameIndex.onProductChanged(ProductChangedEvent.saved(product(1L, "Wireless Phone Charger")));
+        productNameIndex.onProductChanged(ProductChangedEvent.saved(product(2L, "Headphone")));
+        productNameIndex.onProductChanged(ProductChangedEvent.saved(product(3L, "Phone Case")));
+        productNameIndex.onProductChanged(ProductChangedEvent.saved(product(4L, "Phone")));
+
+        // Act
+        List<Long> result = productNameIndex.search("phone", 10);
+
+        // Assert
+        assertEquals(List.of(4L, 3L, 1L, 2L), result);
+        assertEquals(List.of(4L, 3L), productNameIndex.search("phone", 2));
+    }
+
+    @Test
+    void onProductChanged_ShouldReplaceAndRemoveNames() {
+        // Arrange
+        loadEmpty();
+        productNameIndex.onProductChanged(ProductChangedEvent.saved(product(1L, "Old Name")));
+
+        // Act
+        productNameIndex.onProductChanged(ProductChangedEvent.saved(product(1L, "New Name")));
+
+        // Assert
+        assertTrue(productNameIndex.search("old", 10).isEmpty());
+        assertEquals(List.of(1L), productNameIndex.search("new", 10));
+
+        // Act
+        productNameIndex.onProductChanged(ProductChangedEvent.removed(product(1L, "New Name")));
+
+        // Assert
+        assertTrue(productNameIndex.search("name", 10).isEmpty());
+        assertEquals(0, productNameIndex.size());
+    }
+
+    @Test
+    void load_ShouldNotOverwriteChangesMadeWhileLoading() {
+        // Arrange
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 1000)))
+                .thenAnswer(invocation -> {
+                    productNameIndex.onProductChanged(ProductChangedEvent.saved(product(1L, "Renamed Lamp")));
+                    return Arrays.asList(product(1L, "Desk Lamp"));
+                });
+
+        // Act
+        productNameIndex.load();
+
+        // Assert
+        assertEquals(List.of(1L), productNameIndex.search("renamed", 10));
+        assertTrue(productNameIndex.search("desk", 10).isEmpty());
+    }
+
+    private void loadEmpty() {
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 1000))).thenReturn(List.of());
+        productNameIndex.load();
+    }
+
+    private static Product product(Long id, String name) {
+        return new Product(id, name, "Description", 9.99, "Category", 1);
+    }
+}
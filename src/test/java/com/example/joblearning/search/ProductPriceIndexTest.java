@@ -0,0 +1,93 @@
+package com.example.joblearning.search;
+
+import com.example.joblearning.event.ProductChangedEvent;
+import com.example.joblearning.model.Product;
+import com.example.joblearning.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProductPriceIndex.
+ * This class demonstrates:
+ * - Testing an in-memory sorted index in isolation
+ */
+@ExtendWith(MockitoExtension.class)
+public class ProductPriceIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductPriceIndex productPriceIndex;
+
+    @BeforeEach
+    void setUp() {
+        productPriceIndex = new ProductPriceIndex(productRepository, true);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{3L, 5.0, "Books"});
+        rows.add(new Object[]{1L, 10.0, "Electronics"});
+        rows.add(new Object[]{4L, 10.0, "Books"});
+        rows.add(new Object[]{2L, 25.0, "Electronics"});
+        rows.add(new Object[]{5L, 40.0, null});
+        when(productRepository.findPriceEntries()).thenReturn(rows);
+        productPriceIndex.load();
+    }
+
+    @Test
+    void findByPriceRange_ShouldIncludeMinAndExcludeMax() {
+        // Act & Assert
+        assertTrue(productPriceIndex.isReady());
+        assertEquals(List.of(1L, 4L, 2L), productPriceIndex.findByPriceRange(10.0, 40.0, 10));
+        assertEquals(List.of(3L, 1L), productPriceIndex.findByPriceRange(null, 25.0, 2));
+        assertEquals(List.of(2L, 5L), productPriceIndex.findByPriceRange(20.0, null, 10));
+        assertEquals(List.of(), productPriceIndex.findByPriceRange(30.0, 20.0, 10));
+    }
+
+    @Test
+    void findCheapestInCategory_ShouldReturnFirstEntriesOfCategory() {
+        // Act & Assert
+        assertEquals(List.of(3L), productPriceIndex.findCheapestInCategory("Books", 1));
+        assertEquals(List.of(1L, 2L), productPriceIndex.findCheapestInCategory("Electronics", 10));
+        assertEquals(List.of(), productPriceIndex.findCheapestInCategory("Garden", 10));
+    }
+
+    @Test
+    void onProductChanged_ShouldMoveEntryOnPriceAndCategoryChange() {
+        // Arrange
+        Product product = new Product(2L, "Monitor", null, 25.0, "Electronics", 1);
+        ProductChangedEvent.State before = ProductChangedEvent.State.of(product);
+        product.setPrice(7.5);
+        product.setCategory("Books");
+
+        // Act
+        productPriceIndex.onProductChanged(ProductChangedEvent.updated(product, before));
+
+        // Assert
+        assertEquals(List.of(3L, 2L, 1L, 4L), productPriceIndex.findByPriceRange(null, 20.0, 10));
+        assertEquals(List.of(3L, 2L, 4L), productPriceIndex.findCheapestInCategory("Books", 10));
+        assertEquals(List.of(1L), productPriceIndex.findCheapestInCategory("Electronics", 10));
+        assertEquals(5, productPriceIndex.size());
+    }
+
+    @Test
+    void onProductChanged_ShouldInsertSavedAndDropRemovedProducts() {
+        // Act
+        productPriceIndex.onProductChanged(
+                ProductChangedEvent.saved(new Product(6L, "Pen", null, 1.0, "Books", 100)));
+        productPriceIndex.onProductChanged(
+                ProductChangedEvent.removed(new Product(3L, "Novel", null, 5.0, "Books", 2)));
+
+        // Assert
+        assertEquals(List.of(6L, 4L), productPriceIndex.findCheapestInCategory("Books", 10));
+        assertEquals(List.of(6L, 1L), productPriceIndex.findByPriceRange(null, null, 2));
+        assertEquals(5, productPriceIndex.size());
+    }
+}
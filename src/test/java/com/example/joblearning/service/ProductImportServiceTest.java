@@ -0,0 +1,144 @@
+package com.example.joblearning.service;
+
+import com.example.joblearning.dto.BulkImportItemResult;
+import com.example.joblearning.dto.BulkImportResult;
+import com.example.joblearning.event.ProductChangedEvent;
+import com.example.joblearning.model.Product;
+import com.example.joblearning.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProductImportService.
+ * This class demonstrates:
+ * - Testing chunked, programmatically managed transactions with Mockito
+ */
+@ExtendWith(MockitoExtension.class)
+public class ProductImportServiceTest {
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ProductImportService productImportService;
+
+    private long nextId;
+
+    @BeforeEach
+    void setUp() {
+        productImportService = new ProductImportService(productRepository, entityManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, eventPublisher, CHUNK_SIZE);
+        nextId = 100L;
+    }
+
+    @Test
+    void importProducts_ShouldSaveValidProductsInChunks() {
+        // Arrange
+        assignIdsOnSave();
+        List<Product> products = Arrays.asList(
+                product("Product 1"), product("Product 2"), product("Product 3"));
+
+        // Act
+        BulkImportResult result = productImportService.importProducts(products.iterator());
+
+        // Assert
+        assertEquals(3, result.getCreated());
+        assertEquals(0, result.getInvalid());
+        assertEquals(0, result.getFailed());
+        assertEquals(Arrays.asList(100L, 101L, 102L), result.getItems().stream().map(BulkImportItemResult::getId).toList());
+        verify(productRepository, times(2)).saveAll(anyList());
+        verify(transactionManager, times(2)).commit(any());
+        verify(entityManager, times(2)).clear();
+        verify(eventPublisher, times(1)).publishEvent(ProductChangedEvent.saved(products.get(2)));
+    }
+
+    @Test
+    void importProducts_ShouldReportInvalidProductsAndSaveTheRest() {
+        // Arrange
+        assignIdsOnSave();
+        Product withoutName = product(" ");
+        Product withoutPrice = product("No price");
+        withoutPrice.setPrice(null);
+        List<Product> products = Arrays.asList(withoutName, product("Valid"), null, withoutPrice);
+
+        // Act
+        BulkImportResult result = productImportService.importProducts(products.iterator());
+
+        // Assert
+        assertEquals(1, result.getCreated());
+        assertEquals(3, result.getInvalid());
+        List<BulkImportItemResult> items = result.getItems();
+        assertEquals(BulkImportItemResult.Status.INVALID, items.get(0).getStatus());
+        assertEquals(List.of("name: Product name is required"), items.get(0).getErrors());
+        assertEquals(BulkImportItemResult.Status.CREATED, items.get(1).getStatus());
+        assertEquals(List.of("Malformed product"), items.get(2).getErrors());
+        assertEquals(List.of("price: Product price is required"), items.get(3).getErrors());
+        assertNull(items.get(3).getId());
+    }
+
+    @Test
+    void importProducts_WhenChunkFails_ShouldReportChunkAsFailedAndKeepEarlierChunks() {
+        // Arrange
+        List<List<Product>> savedChunks = new ArrayList<>();
+        when(productRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> {
+                    List<Product> chunk = invocation.getArgument(0);
+                    chunk.forEach(product -> product.setId(nextId++));
+                    savedChunks.add(chunk);
+                    return chunk;
+                })
+                .thenThrow(new DataIntegrityViolationException("constraint violated"));
+        List<Product> products = Arrays.asList(
+                product("Product 1"), product("Product 2"), product("Product 3"), product("Product 4"));
+
+        // Act
+        BulkImportResult result = productImportService.importProducts(products.iterator());
+
+        // Assert
+        assertEquals(2, result.getCreated());
+        assertEquals(2, result.getFailed());
+        assertEquals(BulkImportItemResult.Status.FAILED, result.getItems().get(2).getStatus());
+        assertNull(result.getItems().get(3).getId());
+        assertEquals(1, savedChunks.size());
+        verify(transactionManager, times(1)).commit(any());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    private void assignIdsOnSave() {
+        when(productRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Product> chunk = invocation.getArgument(0);
+            chunk.forEach(product -> product.setId(nextId++));
+            return chunk;
+        });
+    }
+
+    private static Product product(String name) {
+        return new Product(null, name, "Description", 9.99, "Category", 1);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.joblearning.service;
+
+import com.example.joblearning.exception.ResourceNotFoundException;
+import com.example.joblearning.model.Product;
+import com.example.joblearning.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the product read caches against a real database.
+ * This class demonstrates:
+ * - Integration testing of @Cacheable methods with @SpringBootTest
+ * - Verifying that writes never leave stale cache entries behind
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "product-search.index.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class ProductServiceCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void getProductById_WhenCached_ShouldNotQueryDatabase() {
+        // Arrange
+        Product product = productService.createProduct(product("Cached Lamp", 19.99, "Lighting"));
+        productService.getProductById(product.getId());
+        statistics.clear();
+
+        // Act
+        Product result = productService.getProductById(product.getId());
+
+        // Assert
+        assertEquals("Cached Lamp", result.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updateProduct_ShouldEvictProductAndOldAndNewCategory() {
+        // Arrange
+        Product product = productService.createProduct(product("Desk Lamp", 19.99, "Lighting"));
+        productService.getProductById(product.getId());
+        assertEquals(1, productService.getProductsByCategory("Lighting").size());
+        assertEquals(0, productService.getProductsByCategory("Office").size());
+
+        // Act
+        productService.updateProduct(product.getId(), product("Office Lamp", 24.99, "Office"));
+
+        // Assert
+        assertEquals("Office Lamp", productService.getProductById(product.getId()).getName());
+        assertTrue(productService.getProductsByCategory("Lighting").isEmpty());
+        assertEquals(List.of("Office Lamp"),
+                productService.getProductsByCategory("Office").stream().map(Product::getName).toList());
+    }
+
+    @Test
+    void createAndDeleteProduct_ShouldEvictPriceListingsAndProduct() {
+        // Arrange
+        assertTrue(productService.getProductsWithPriceLessThan(50.0).isEmpty());
+
+        // Act
+        Product product = productService.createProduct(product("Cheap Lamp", 9.99, "Lighting"));
+
+        // Assert
+        assertEquals(1, productService.getProductsWithPriceLessThan(50.0).size());
+        productService.getProductById(product.getId());
+
+        // Act
+        productService.deleteProduct(product.getId());
+
+        // Assert
+        assertTrue(productService.getProductsWithPriceLessThan(50.0).isEmpty());
+        assertTrue(productService.getProductsByCategory("Lighting").isEmpty());
+        assertThrows(ResourceNotFoundException.class, () -> productService.getProductById(product.getId()));
+    }
+
+    private static Product product(String name, double price, String category) {
+        return new Product(null, name, "Description", price, category, 1);
+    }
+}
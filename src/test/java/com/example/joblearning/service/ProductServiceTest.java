@@ -1,22 +1,48 @@
 package com.example.joblearning.service;
 
+import com.example.joblearning.cache.StockAvailabilityCache;
+import com.example.joblearning.catalog.ProductCatalog;
+import com.example.joblearning.client.AsyncInventoryClient;
+import com.example.joblearning.client.ResilientInventoryClient;
+import com.example.joblearning.client.StockAnswer;
+import com.example.joblearning.dto.CategoryStats;
+import com.example.joblearning.dto.PartialProduct;
+import com.example.joblearning.dto.ProductWithStock;
+import com.example.joblearning.event.ProductChangedEvent;
+import com.example.joblearning.exception.InvalidFieldsException;
 import com.example.joblearning.exception.ResourceNotFoundException;
 import com.example.joblearning.model.Product;
 import com.example.joblearning.repository.ProductRepository;
+import com.example.joblearning.search.ProductNameIndex;
+import com.example.joblearning.search.ProductPriceIndex;
+import com.example.joblearning.stats.CategoryStatistics;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -32,6 +58,36 @@ public class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ResilientInventoryClient inventoryClient;
+
+    @Mock
+    private AsyncInventoryClient asyncInventoryClient;
+
+    @Mock
+    private AsyncInventoryClient.FanOut fanOut;
+
+    @Spy
+    private StockAvailabilityCache stockAvailabilityCache = new StockAvailabilityCache(Duration.ofMinutes(1), 100);
+
+    @Mock
+    private ProductNameIndex productNameIndex;
+
+    @Mock
+    private ProductPriceIndex productPriceIndex;
+
+    @Mock
+    private ProductCatalog productCatalog;
+
+    @Mock
+    private CategoryStatistics categoryStatistics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private ProductService productService;
 
@@ -60,6 +116,50 @@ public class ProductServiceTest {
         verify(productRepository, times(1)).findAll();
     }
 
+    @Test
+    void getProductsAfter_ShouldSeekPastCursor() {
+        // Arrange
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(1L, PageRequest.of(0, 10)))
+                .thenReturn(Arrays.asList(product2));
+
+        // Act
+        List<Product> result = productService.getProductsAfter(1L, 10);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(2L, result.get(0).getId());
+        verify(productRepository, times(1)).findByIdGreaterThanOrderByIdAsc(1L, PageRequest.of(0, 10));
+    }
+
+    @Test
+    void getProductsAfter_WithoutCursor_ShouldStartFromFirstProduct() {
+        // Arrange
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 10)))
+                .thenReturn(Arrays.asList(product1, product2));
+
+        // Act
+        List<Product> result = productService.getProductsAfter(null, 10);
+
+        // Assert
+        assertEquals(2, result.size());
+        verify(productRepository, times(1)).findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 10));
+    }
+
+    @Test
+    void exportProducts_ShouldPassEveryProductAndDetachIt() {
+        // Arrange
+        when(productRepository.streamAllOrderedById()).thenReturn(Stream.of(product1, product2));
+        List<Product> exported = new ArrayList<>();
+
+        // Act
+        productService.exportProducts(exported::add);
+
+        // Assert
+        assertEquals(Arrays.asList(product1, product2), exported);
+        verify(entityManager, times(1)).detach(product1);
+        verify(entityManager, times(1)).detach(product2);
+    }
+
     @Test
     void getProductById_WithValidId_ShouldReturnProduct() {
         // Arrange
@@ -103,6 +203,7 @@ public class ProductServiceTest {
         assertEquals(3L, result.getId());
         assertEquals("New Product", result.getName());
         verify(productRepository, times(1)).save(newProduct);
+        verify(eventPublisher, times(1)).publishEvent(ProductChangedEvent.saved(savedProduct));
     }
 
     @Test
@@ -123,6 +224,8 @@ public class ProductServiceTest {
         assertEquals(49.99, result.getPrice());
         verify(productRepository, times(1)).findById(1L);
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(eventPublisher, times(1)).publishEvent(
+                ProductChangedEvent.updated(updatedDetails, new ProductChangedEvent.State("Electronics", 19.99, 10)));
     }
 
     @Test
@@ -137,6 +240,7 @@ public class ProductServiceTest {
         // Assert
         verify(productRepository, times(1)).findById(1L);
         verify(productRepository, times(1)).delete(product1);
+        verify(eventPublisher, times(1)).publishEvent(ProductChangedEvent.removed(product1));
     }
 
     @Test
@@ -168,17 +272,328 @@ public class ProductServiceTest {
     }
 
     @Test
-    void searchProductsByName_ShouldReturnMatchingProducts() {
+    void searchProductsByName_WhileIndexIsBuilding_ShouldQueryDatabase() {
         // Arrange
-        when(productRepository.searchByNameContainingIgnoreCase("Test")).thenReturn(Arrays.asList(product1, product2));
+        when(productNameIndex.isReady()).thenReturn(false);
+        when(productRepository.searchByNameContainingIgnoreCase("Test", PageRequest.of(0, 10)))
+                .thenReturn(Arrays.asList(product1, product2));
 
         // Act
-        List<Product> result = productService.searchProductsByName("Test");
+        List<Product> result = productService.searchProductsByName("Test", 10);
 
         // Assert
         assertEquals(2, result.size());
         assertTrue(result.get(0).getName().contains("Test"));
         assertTrue(result.get(1).getName().contains("Test"));
-        verify(productRepository, times(1)).searchByNameContainingIgnoreCase("Test");
+        verify(productRepository, times(1)).searchByNameContainingIgnoreCase("Test", PageRequest.of(0, 10));
+        verify(productNameIndex, never()).search(any(), anyInt());
+    }
+
+    @Test
+    void searchProductsByName_WithIndexReady_ShouldKeepRelevanceOrder() {
+        // Arrange
+        when(productNameIndex.isReady()).thenReturn(true);
+        when(productNameIndex.search("Test", 10)).thenReturn(Arrays.asList(2L, 1L));
+        when(productRepository.findAllById(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(product1, product2));
+
+        // Act
+        List<Product> result = productService.searchProductsByName("Test", 10);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(0).getId());
+        assertEquals(1L, result.get(1).getId());
+        verify(productRepository, never()).searchByNameContainingIgnoreCase(any(), any());
+    }
+
+    @Test
+    void isProductInStock_RepeatedCheck_ShouldBeServedFromCache() {
+        // Arrange
+        when(inventoryClient.checkStock("PROD-001", 2)).thenReturn(StockAnswer.live(true));
+
+        // Act
+        boolean first = productService.isProductInStock("PROD-001", 2);
+        boolean second = productService.isProductInStock("PROD-001", 2);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        verify(inventoryClient, times(1)).checkStock("PROD-001", 2);
+        assertEquals(1, stockAvailabilityCache.stats().hits());
+        assertEquals(1, stockAvailabilityCache.stats().misses());
+    }
+
+    @Test
+    void isProductInStock_AfterInvalidation_ShouldAskInventoryAgain() {
+        // Arrange
+        when(inventoryClient.checkStock("PROD-001", 2)).thenReturn(StockAnswer.live(true)).thenReturn(StockAnswer.live(false));
+
+        // Act
+        boolean before = productService.isProductInStock("PROD-001", 2);
+        stockAvailabilityCache.invalidate(List.of("PROD-001"));
+        boolean after = productService.isProductInStock("PROD-001", 2);
+
+        // Assert
+        assertTrue(before);
+        assertFalse(after);
+        verify(inventoryClient, times(2)).checkStock("PROD-001", 2);
+    }
+
+    @Test
+    void isProductInStock_WhenInventoryUnavailable_ShouldNotCacheFailure() {
+        // Arrange
+        when(inventoryClient.checkStock("PROD-001", 1))
+                .thenThrow(new RuntimeException("Connection refused"))
+                .thenReturn(StockAnswer.live(true));
+
+        // Act & Assert
+        assertFalse(productService.isProductInStock("PROD-001", 1));
+        assertTrue(productService.isProductInStock("PROD-001", 1));
+        verify(inventoryClient, times(2)).checkStock("PROD-001", 1);
+    }
+
+    @Test
+    void isProductInStock_WhenServedFromLastKnown_ShouldNotCacheFallback() {
+        // Arrange
+        when(inventoryClient.checkStock("PROD-001", 1))
+                .thenReturn(StockAnswer.lastKnown(false))
+                .thenReturn(StockAnswer.live(true));
+
+        // Act
+        boolean duringOutage = productService.isProductInStock("PROD-001", 1);
+        boolean afterRecovery = productService.isProductInStock("PROD-001", 1);
+
+        // Assert
+        assertFalse(duringOutage);
+        assertTrue(afterRecovery);
+        verify(inventoryClient, times(2)).checkStock("PROD-001", 1);
+        assertEquals(0, stockAvailabilityCache.stats().hits());
+    }
+
+    @Test
+    void areProductsInStock_ShouldUseSingleBulkCall() {
+        // Arrange
+        Map<String, Integer> cart = new LinkedHashMap<>();
+        cart.put("PROD-001", 2);
+        cart.put("PROD-002", 1);
+        when(inventoryClient.checkStockBulk(cart)).thenReturn(Map.of("PROD-001", true, "PROD-002", false));
+
+        // Act
+        Map<String, Boolean> result = productService.areProductsInStock(cart);
+
+        // Assert
+        assertTrue(result.get("PROD-001"));
+        assertFalse(result.get("PROD-002"));
+        verify(inventoryClient, times(1)).checkStockBulk(cart);
+        verify(inventoryClient, never()).checkStock(any(), anyInt());
+    }
+
+    @Test
+    void areProductsInStockConcurrently_ShouldLookUpMissesAndUseCachedAnswers() {
+        // Arrange
+        stockAvailabilityCache.get("PROD-001", 2, () -> StockAnswer.live(true));
+        when(asyncInventoryClient.fanOut()).thenReturn(fanOut);
+        when(asyncInventoryClient.deadline()).thenReturn(Duration.ofSeconds(1));
+        when(fanOut.checkStock("PROD-002", 1)).thenReturn(CompletableFuture.completedFuture(StockAnswer.live(false)));
+        when(fanOut.checkStock("PROD-003", 4))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Connection refused")));
+        Map<String, Integer> cart = new LinkedHashMap<>();
+        cart.put("PROD-001", 2);
+        cart.put("PROD-002", 1);
+        cart.put("PROD-003", 4);
+
+        // Act
+        Map<String, Boolean> result = productService.areProductsInStockConcurrently(cart);
+
+        // Assert
+        assertEquals(List.of("PROD-001", "PROD-002", "PROD-003"), List.copyOf(result.keySet()));
+        assertTrue(result.get("PROD-001"));
+        assertFalse(result.get("PROD-002"));
+        assertFalse(result.get("PROD-003"));
+        verify(fanOut, never()).checkStock("PROD-001", 2);
+        verify(fanOut).cancel();
+    }
+
+    @Test
+    void areProductsInStockConcurrently_AfterDeadline_ShouldReportUnfinishedLookupsAsNotInStockAndCancelThem() {
+        // Arrange
+        CompletableFuture<StockAnswer> unfinished = new CompletableFuture<>();
+        when(asyncInventoryClient.fanOut()).thenReturn(fanOut);
+        when(asyncInventoryClient.deadline()).thenReturn(Duration.ofMillis(50));
+        when(fanOut.checkStock("PROD-001", 1)).thenReturn(CompletableFuture.completedFuture(StockAnswer.live(true)));
+        when(fanOut.checkStock("PROD-002", 1)).thenReturn(unfinished);
+        doAnswer(invocation -> unfinished.cancel(false)).when(fanOut).cancel();
+        Map<String, Integer> cart = new LinkedHashMap<>();
+        cart.put("PROD-001", 1);
+        cart.put("PROD-002", 1);
+
+        // Act
+        Map<String, Boolean> result = productService.areProductsInStockConcurrently(cart);
+
+        // Assert
+        assertTrue(result.get("PROD-001"));
+        assertFalse(result.get("PROD-002"));
+        assertTrue(unfinished.isCancelled());
+    }
+
+    @Test
+    void withStock_ShouldFetchQuantitiesForWholePageWithOneCall() {
+        // Arrange
+        Product product3 = new Product(3L, "Test Product 3", "Description 3", 39.99, "Books", 30);
+        when(inventoryClient.getAvailableQuantities(List.of(1L, 2L, 3L))).thenReturn(Map.of(1L, 4, 2L, 0));
+
+        // Act
+        List<ProductWithStock> result = productService.withStock(Arrays.asList(product1, product2, product3));
+
+        // Assert
+        assertEquals(3, result.size());
+        assertSame(product1, result.get(0).getProduct());
+        assertEquals(4, result.get(0).getAvailableQuantity());
+        assertTrue(result.get(0).getInStock());
+        assertEquals(0, result.get(1).getAvailableQuantity());
+        assertFalse(result.get(1).getInStock());
+        assertNull(result.get(2).getAvailableQuantity());
+        assertNull(result.get(2).getInStock());
+        verify(inventoryClient, times(1)).getAvailableQuantities(any());
+        verify(inventoryClient, never()).checkStock(any(), anyInt());
+    }
+
+    @Test
+    void withStock_WithMoreProductsThanOneBatch_ShouldCallOncePerBatch() {
+        // Arrange
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= ProductService.STOCK_LOOKUP_BATCH_SIZE + 1; id++) {
+            products.add(new Product(id, "Product " + id, "Description", 9.99, "Category", 1));
+        }
+        when(inventoryClient.getAvailableQuantities(any())).thenReturn(Map.of());
+
+        // Act
+        List<ProductWithStock> result = productService.withStock(products);
+
+        // Assert
+        assertEquals(products.size(), result.size());
+        verify(inventoryClient, times(2)).getAvailableQuantities(any());
+    }
+
+    @Test
+    void getProductFieldsAfter_ShouldSelectRequestedFieldsWithIdAndVersion() {
+        // Arrange
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 2L);
+        row.put("name", "Test Product 2");
+        row.put("price", 29.99);
+        row.put("version", 3L);
+        when(productRepository.findAttributes(eq(List.of("id", "name", "price", "version")), any(),
+                eq(Sort.by("id")), eq(10))).thenReturn(List.of(row));
+
+        // Act
+        List<PartialProduct> result = productService.getProductFieldsAfter(1L, 10, List.of("name", " price", "name"));
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(2L, result.get(0).getId());
+        assertEquals(3L, result.get(0).getVersion());
+        assertEquals(List.of("id", "name", "price"), List.copyOf(result.get(0).getFields().keySet()));
+        verify(productRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    @Test
+    void getAllProductFields_WithUnknownField_ShouldThrowInvalidFieldsException() {
+        // Act & Assert
+        InvalidFieldsException exception = assertThrows(InvalidFieldsException.class,
+                () -> productService.getAllProductFields(List.of("name", "secret")));
+        assertTrue(exception.getMessage().contains("secret"));
+        verify(productRepository, never()).findAttributes(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void withStockFields_ShouldAddAvailabilityToSelectedFields() {
+        // Arrange
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("id", 1L);
+        PartialProduct partial = new PartialProduct(1L, 0L, fields);
+        when(inventoryClient.getAvailableQuantities(List.of(1L))).thenReturn(Map.of(1L, 4));
+
+        // Act
+        List<PartialProduct> result = productService.withStockFields(List.of(partial));
+
+        // Assert
+        assertEquals(4, result.get(0).getFields().get("availableQuantity"));
+        assertEquals(true, result.get(0).getFields().get("inStock"));
+    }
+
+    @Test
+    void getCategoryStats_WhenAggregatesReady_ShouldNotQueryDatabase() {
+        // Arrange
+        List<CategoryStats> stats = List.of(new CategoryStats("Electronics", 2, 10.0, 30.0, 20.0, 15));
+        when(categoryStatistics.isReady()).thenReturn(true);
+        when(categoryStatistics.getStats()).thenReturn(stats);
+
+        // Act
+        List<CategoryStats> result = productService.getCategoryStats();
+
+        // Assert
+        assertSame(stats, result);
+        verify(productRepository, never()).aggregateByCategory();
+    }
+
+    @Test
+    void getCategoryStats_WhenAggregatesDisabled_ShouldGroupInDatabase() {
+        // Arrange
+        when(categoryStatistics.isReady()).thenReturn(false);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"Books", 3L, 5.0, 15.0, 10.0, null});
+        when(productRepository.aggregateByCategory()).thenReturn(rows);
+
+        // Act
+        List<CategoryStats> result = productService.getCategoryStats();
+
+        // Assert
+        assertEquals(List.of(new CategoryStats("Books", 3, 5.0, 15.0, 10.0, 0)), result);
+        verify(categoryStatistics, never()).getStats();
+    }
+
+    @Test
+    void getProductsByPriceRange_WhenIndexReady_ShouldReturnProductsInIndexOrder() {
+        // Arrange
+        when(productPriceIndex.isReady()).thenReturn(true);
+        when(productPriceIndex.findByPriceRange(10.0, 30.0, 2)).thenReturn(List.of(2L, 1L));
+        when(productRepository.findAllById(List.of(2L, 1L))).thenReturn(Arrays.asList(product1, product2));
+
+        // Act
+        List<Product> result = productService.getProductsByPriceRange(10.0, 30.0, 2);
+
+        // Assert
+        assertEquals(List.of(product2, product1), result);
+        verify(productRepository, never()).findByPriceRange(any(), any(), any());
+    }
+
+    @Test
+    void getCheapestProductsInCategory_WhenIndexNotReady_ShouldQueryDatabase() {
+        // Arrange
+        when(productPriceIndex.isReady()).thenReturn(false);
+        when(productRepository.findByCategoryOrderByPriceAscIdAsc("Electronics", PageRequest.of(0, 5)))
+                .thenReturn(List.of(product1));
+
+        // Act
+        List<Product> result = productService.getCheapestProductsInCategory("Electronics", 5);
+
+        // Assert
+        assertEquals(List.of(product1), result);
+        verify(productPriceIndex, never()).findCheapestInCategory(any(), anyInt());
+    }
+
+    @Test
+    void getProductsByCategory_WhenCatalogReady_ShouldNotQueryDatabase() {
+        // Arrange
+        when(productCatalog.isReady()).thenReturn(true);
+        when(productCatalog.findByCategory("Electronics")).thenReturn(List.of(product1));
+
+        // Act
+        List<Product> result = productService.getProductsByCategory("Electronics");
+
+        // Assert
+        assertEquals(List.of(product1), result);
+        verify(productRepository, never()).findByCategory(any());
     }
 }
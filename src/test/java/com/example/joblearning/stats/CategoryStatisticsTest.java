@@ -0,0 +1,130 @@
+package com.example.joblearning.stats;
+
+import com.example.joblearning.dto.CategoryStats;
+import com.example.joblearning.event.ProductChangedEvent;
+import com.example.joblearning.model.Product;
+import com.example.joblearning.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CategoryStatistics.
+ * This class demonstrates:
+ * - Testing incrementally maintained aggregates against the values a full recomputation would give
+ */
+@ExtendWith(MockitoExtension.class)
+public class CategoryStatisticsTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private CategoryStatistics categoryStatistics;
+
+    @BeforeEach
+    void setUp() {
+        categoryStatistics = new CategoryStatistics(productRepository, true);
+    }
+
+    @Test
+    void load_ShouldAggregateRowsPerCategory() {
+        // Arrange
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"Electronics", 10.0, 2L, 5L});
+        rows.add(new Object[]{"Electronics", 40.0, 1L, null});
+        rows.add(new Object[]{"Books", 12.5, 1L, 4L});
+        when(productRepository.countByCategoryAndPrice()).thenReturn(rows);
+
+        // Act
+        categoryStatistics.load();
+
+        // Assert
+        assertTrue(categoryStatistics.isReady());
+        assertEquals(List.of(
+                new CategoryStats("Books", 1, 12.5, 12.5, 12.5, 4),
+                new CategoryStats("Electronics", 3, 10.0, 40.0, 20.0, 5)), categoryStatistics.getStats());
+    }
+
+    @Test
+    void onProductChanged_ShouldApplyCreateUpdateAndCategoryMove() {
+        // Arrange
+        when(productRepository.countByCategoryAndPrice()).thenReturn(List.of());
+        categoryStatistics.load();
+        Product mouse = new Product(1L, "Mouse", null, 20.0, "Electronics", 5);
+        Product keyboard = new Product(2L, "Keyboard", null, 40.0, "Electronics", 3);
+
+        // Act
+        categoryStatistics.onProductChanged(ProductChangedEvent.saved(mouse));
+        categoryStatistics.onProductChanged(ProductChangedEvent.saved(keyboard));
+        ProductChangedEvent.State before = ProductChangedEvent.State.of(keyboard);
+        keyboard.setCategory("Accessories");
+        keyboard.setPrice(30.0);
+        categoryStatistics.onProductChanged(ProductChangedEvent.updated(keyboard, before));
+
+        // Assert
+        assertEquals(List.of(
+                new CategoryStats("Accessories", 1, 30.0, 30.0, 30.0, 3),
+                new CategoryStats("Electronics", 1, 20.0, 20.0, 20.0, 5)), categoryStatistics.getStats());
+    }
+
+    @Test
+    void onProductChanged_WhenCheapestIsRemoved_ShouldRevealNextCheapest() {
+        // Arrange
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"Electronics", 10.0, 1L, 1L});
+        rows.add(new Object[]{"Electronics", 15.0, 1L, 1L});
+        rows.add(new Object[]{"Electronics", 50.0, 1L, 1L});
+        when(productRepository.countByCategoryAndPrice()).thenReturn(rows);
+        categoryStatistics.load();
+        categoryStatistics.getStats();
+
+        // Act
+        categoryStatistics.onProductChanged(
+                ProductChangedEvent.removed(new Product(1L, "Cable", null, 10.0, "Electronics", 1)));
+
+        // Assert
+        CategoryStats stats = categoryStatistics.getStats().get(0);
+        assertEquals(2, stats.getProductCount());
+        assertEquals(15.0, stats.getMinPrice());
+        assertEquals(50.0, stats.getMaxPrice());
+        assertEquals(32.5, stats.getAveragePrice());
+        assertEquals(2, stats.getTotalStockQuantity());
+    }
+
+    @Test
+    void onProductChanged_WhenLastProductOfCategoryIsRemoved_ShouldDropCategory() {
+        // Arrange
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"Books", 12.5, 1L, 4L});
+        when(productRepository.countByCategoryAndPrice()).thenReturn(rows);
+        categoryStatistics.load();
+
+        // Act
+        categoryStatistics.onProductChanged(
+                ProductChangedEvent.removed(new Product(7L, "Novel", null, 12.5, "Books", 4)));
+
+        // Assert
+        assertTrue(categoryStatistics.getStats().isEmpty());
+    }
+
+    @Test
+    void load_WhenDisabled_ShouldNotBeReady() {
+        // Arrange
+        categoryStatistics = new CategoryStatistics(productRepository, false);
+
+        // Act
+        categoryStatistics.load();
+
+        // Assert
+        assertFalse(categoryStatistics.isReady());
+        verifyNoInteractions(productRepository);
+    }
+}